@@ -0,0 +1,11 @@
+package com.student.management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// Executors come from Spring Boot: spring.threads.virtual.enabled=true (JDK 21+) moves both
+// Tomcat request handling and the @Async task executor onto virtual threads
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
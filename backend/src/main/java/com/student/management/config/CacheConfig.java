@@ -0,0 +1,13 @@
+package com.student.management.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache sizing and eviction are configured through spring.cache.* in application.properties
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String STUDENTS = "students";
+    public static final String COURSES = "courses";
+}
@@ -0,0 +1,157 @@
+package com.student.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// With virtual threads nothing bounds how many requests run at once, so API requests
+// wait here for one of as many permits as the JDBC pool has connections instead of
+// piling up inside the pool; waiting longer than the acquire timeout answers 503.
+// On by default only when virtual threads are really in use (JDK 21+), so on 17 Tomcat's
+// platform pool is not capped at the pool size; app.concurrency.limit.enabled overrides.
+// A streamed (async) response keeps its permit, and its connection, until it completes, so
+// streams draw from a small semaphore of their own and can never hold the pool-sized one.
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final Semaphore streamPermits;
+    private final long acquireTimeoutMillis;
+
+    public ConcurrencyLimitFilter(
+            @Value("${app.concurrency.limit.enabled:#{null}}") Boolean enabled,
+            @Value("${app.concurrency.limit.permits:10}") int permits,
+            @Value("${app.concurrency.limit.stream-permits:2}") int streamPermits,
+            @Value("${app.concurrency.limit.acquire-timeout:2s}") Duration acquireTimeout,
+            Environment environment) {
+        this.enabled = enabled != null ? enabled : Threading.VIRTUAL.isActive(environment);
+        this.permits = new Semaphore(permits, true);
+        this.streamPermits = new Semaphore(streamPermits, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Semaphore semaphore = isStream(request) ? streamPermits : permits;
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(semaphore, released));
+            } else {
+                release(semaphore, released);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getAvailableStreamPermits() {
+        return streamPermits.availablePermits();
+    }
+
+    private static boolean isStream(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.endsWith("/stream") || uri.startsWith("/api/export/");
+    }
+
+    // Once per request, whichever of completion, error or timeout comes first
+    private static void release(Semaphore semaphore, AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            semaphore.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Server is busy, retry shortly",
+            LocalDateTime.now()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released;
+
+        ReleaseOnCompletion(Semaphore semaphore, AtomicBoolean released) {
+            this.semaphore = semaphore;
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(semaphore, released);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(semaphore, released);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(semaphore, released);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Restarted async keeps the same permit; re-register for the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
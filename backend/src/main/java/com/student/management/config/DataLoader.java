@@ -3,16 +3,21 @@ package com.student.management.config;
 import com.student.management.entity.Course;
 import com.student.management.entity.Student;
 import com.student.management.repository.CourseRepository;
+import com.student.management.repository.EnrollmentKey;
 import com.student.management.repository.StudentRepository;
+import com.student.management.service.EnrollmentWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 
+// Sample data for development; the synthetic profile seeds its own dataset instead
 @Component
+@Profile("!synthetic")
 public class DataLoader implements CommandLineRunner {
     
     @Autowired
@@ -21,6 +26,9 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private EnrollmentWriter enrollmentWriter;
+    
     @Override
     public void run(String... args) throws Exception {
         // Create sample courses
@@ -28,6 +36,7 @@ public class DataLoader implements CommandLineRunner {
         course1.setDescription("Basic concepts of computer science and programming");
         course1.setStartDate(LocalDate.now().plusDays(30));
         course1.setEndDate(LocalDate.now().plusDays(120));
+        course1.setCapacity(30);
         
         Course course2 = new Course("MATH201", "Advanced Mathematics", 4, new BigDecimal("399.99"));
         course2.setDescription("Advanced mathematical concepts and problem solving");
@@ -43,6 +52,7 @@ public class DataLoader implements CommandLineRunner {
         course4.setDescription("Basic principles of physics and mechanics");
         course4.setStartDate(LocalDate.now().plusDays(60));
         course4.setEndDate(LocalDate.now().plusDays(150));
+        course4.setCapacity(20);
         
         // Save courses
         courseRepository.saveAll(Arrays.asList(course1, course2, course3, course4));
@@ -63,22 +73,21 @@ public class DataLoader implements CommandLineRunner {
         // Save students
         studentRepository.saveAll(Arrays.asList(student1, student2, student3, student4));
         
-        // Enroll students in courses
-        student1.addCourse(course1);
-        student1.addCourse(course2);
-        
-        student2.addCourse(course1);
-        student2.addCourse(course3);
-        
-        student3.addCourse(course2);
-        student3.addCourse(course4);
-        
-        student4.addCourse(course1);
-        student4.addCourse(course3);
-        student4.addCourse(course4);
-        
-        // Save updated students
-        studentRepository.saveAll(Arrays.asList(student1, student2, student3, student4));
+        // Enroll students in courses through the writer so seat counts stay in step
+        enrollmentWriter.link(Arrays.asList(
+            new EnrollmentKey(student1.getId(), course1.getId()),
+            new EnrollmentKey(student1.getId(), course2.getId()),
+            
+            new EnrollmentKey(student2.getId(), course1.getId()),
+            new EnrollmentKey(student2.getId(), course3.getId()),
+            
+            new EnrollmentKey(student3.getId(), course2.getId()),
+            new EnrollmentKey(student3.getId(), course4.getId()),
+            
+            new EnrollmentKey(student4.getId(), course1.getId()),
+            new EnrollmentKey(student4.getId(), course3.getId()),
+            new EnrollmentKey(student4.getId(), course4.getId())
+        ));
         
         System.out.println("Sample data loaded successfully!");
     }
@@ -0,0 +1,30 @@
+package com.student.management.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.student.management.dto.CourseDto;
+import com.student.management.dto.StudentDto;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The DTOs behind ?fields= get a property filter through a mix-in, so the DTO classes stay plain.
+// Responses without a selection (and the NDJSON streams) fall through to the default: every property.
+@Configuration
+public class JacksonConfig {
+    
+    public static final String FIELD_FILTER = "fieldSelection";
+    
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+        return builder -> builder
+                .mixIn(StudentDto.class, FieldFilterMixin.class)
+                .mixIn(CourseDto.class, FieldFilterMixin.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+    
+    @JsonFilter(FIELD_FILTER)
+    private abstract static class FieldFilterMixin {
+    }
+}
@@ -0,0 +1,30 @@
+package com.student.management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaginationSettings {
+    
+    @Value("${app.pagination.default-page-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${app.pagination.max-page-size:500}")
+    private int maxPageSize;
+    
+    // Clamp a client-supplied page size into [1, maxPageSize]
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(requested, maxPageSize);
+    }
+    
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+    
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+}
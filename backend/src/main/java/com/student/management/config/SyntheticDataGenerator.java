@@ -0,0 +1,236 @@
+package com.student.management.config;
+
+import com.student.management.service.EnrollmentStats;
+import com.student.management.service.ModificationCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Seeds a large, reproducible dataset instead of the sample data (profile "synthetic"):
+// the same seed always yields the same rows. Course popularity follows a Zipf law, so a few
+// courses are hot and most are sparse; most students take two or three courses. Rows go in
+// as plain JDBC batches, bypassing the entity listener, so the derived state is rebuilt after.
+@Component
+@Profile("synthetic")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public static final List<String> FIRST_NAMES = List.of(
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Daniel", "Nancy", "Matthew", "Lisa", "Anthony", "Betty", "Mark", "Sandra", "Steven", "Ashley",
+            "Andrew", "Emily", "Joshua", "Michelle", "Kevin", "Amanda", "Brian", "Melissa", "George", "Olivia");
+
+    public static final List<String> LAST_NAMES = List.of(
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores");
+
+    private static final List<String> SUBJECTS = List.of(
+            "Algebra", "Biology", "Chemistry", "Databases", "Economics", "Finance", "Geometry", "History",
+            "Literature", "Marketing", "Networks", "Philosophy", "Physics", "Psychology", "Statistics", "Writing");
+
+    private static final String INSERT_COURSE =
+            "INSERT INTO courses (id, course_code, course_name, description, credits, price, start_date, end_date, " +
+            "is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO students (id, first_name, last_name, email, date_of_birth, phone_number, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LINK =
+            "INSERT INTO student_courses (student_id, course_id) VALUES (?, ?)";
+
+    private static final String COUNT_SEATS =
+            "UPDATE courses c SET enrolled_count = (SELECT COUNT(*) FROM student_courses sc WHERE sc.course_id = c.id)";
+
+    @Value("${app.synthetic.students:1000000}")
+    private int studentCount;
+
+    @Value("${app.synthetic.courses:2000}")
+    private int courseCount;
+
+    @Value("${app.synthetic.max-courses-per-student:6}")
+    private int maxCoursesPerStudent;
+
+    // Zipf exponent of course popularity; 0 is uniform, higher is more skewed
+    @Value("${app.synthetic.popularity-skew:1.1}")
+    private double popularitySkew;
+
+    @Value("${app.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${app.synthetic.batch-size:5000}")
+    private int batchSize;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EnrollmentStats enrollmentStats;
+
+    @Autowired
+    private ModificationCounters modificationCounters;
+
+    @Override
+    public void run(String... args) {
+        long started = System.currentTimeMillis();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        SplittableRandom random = new SplittableRandom(seed);
+        long firstCourseId = nextId(jdbc, "courses");
+        long firstStudentId = nextId(jdbc, "students");
+
+        insertCourses(jdbc, random.split(), firstCourseId);
+        long enrollments = insertStudents(jdbc, random.split(), firstStudentId, firstCourseId);
+        jdbc.update(COUNT_SEATS);
+
+        // Pooled ids: the next block Hibernate takes must start after the generated rows
+        jdbc.execute("ALTER SEQUENCE courses_seq RESTART WITH " + (firstCourseId + courseCount + 49));
+        jdbc.execute("ALTER SEQUENCE students_seq RESTART WITH " + (firstStudentId + studentCount + 49));
+
+        enrollmentStats.reload();
+        modificationCounters.touch(ModificationCounters.Table.values());
+        log.info("Generated {} students, {} courses and {} enrollments (seed {}) in {} ms",
+                studentCount, courseCount, enrollments, seed, System.currentTimeMillis() - started);
+    }
+
+    private void insertCourses(JdbcTemplate jdbc, SplittableRandom random, long firstId) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < courseCount; i++) {
+            long id = firstId + i;
+            String subject = SUBJECTS.get(random.nextInt(SUBJECTS.size()));
+            LocalDate start = today.plusDays(random.nextInt(7, 120));
+            rows.add(new Object[] {
+                    id,
+                    "SYN" + id,
+                    subject + " Section " + id,
+                    "Synthetic " + subject.toLowerCase() + " course",
+                    random.nextInt(1, 7),
+                    BigDecimal.valueOf(random.nextInt(5_000, 100_000), 2),
+                    Date.valueOf(start),
+                    Date.valueOf(start.plusWeeks(random.nextInt(6, 16))),
+                    random.nextInt(10) != 0,
+                    Date.valueOf(today),
+                    Date.valueOf(today)});
+            if (rows.size() == batchSize) {
+                flush(jdbc, INSERT_COURSE, rows);
+            }
+        }
+        flush(jdbc, INSERT_COURSE, rows);
+    }
+
+    private long insertStudents(JdbcTemplate jdbc, SplittableRandom random, long firstId, long firstCourseId) {
+        LocalDate today = LocalDate.now();
+        double[] popularity = popularityCdf(random.split());
+        long[] picked = new long[maxCoursesPerStudent];
+        List<Object[]> students = new ArrayList<>(batchSize);
+        List<Object[]> links = new ArrayList<>(batchSize * 3);
+        long enrollments = 0;
+        for (int i = 0; i < studentCount; i++) {
+            long id = firstId + i;
+            String firstName = FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()));
+            String lastName = LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+            students.add(new Object[] {
+                    id,
+                    firstName,
+                    lastName,
+                    firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + id + "@synthetic.example",
+                    Date.valueOf(LocalDate.of(1980, 1, 1).plusDays(random.nextInt(26 * 365))),
+                    "+1555" + (1_000_000 + random.nextInt(9_000_000)),
+                    Date.valueOf(today),
+                    Date.valueOf(today)});
+
+            // Truncated geometric: each further course is taken with probability 0.6
+            int courses = 1;
+            while (courses < Math.min(maxCoursesPerStudent, courseCount) && random.nextDouble() < 0.6) {
+                courses++;
+            }
+            for (int c = 0; c < courses; c++) {
+                long courseId;
+                do {
+                    courseId = firstCourseId + sample(popularity, random.nextDouble());
+                } while (contains(picked, c, courseId));
+                picked[c] = courseId;
+                links.add(new Object[] {id, courseId});
+            }
+            enrollments += courses;
+
+            if (students.size() == batchSize) {
+                // Students first: the links reference them
+                flush(jdbc, INSERT_STUDENT, students);
+                flush(jdbc, INSERT_LINK, links);
+            }
+        }
+        flush(jdbc, INSERT_STUDENT, students);
+        flush(jdbc, INSERT_LINK, links);
+        return enrollments;
+    }
+
+    // Cumulative Zipf weights over a shuffled course order, so the hot courses are not simply the lowest ids
+    private double[] popularityCdf(SplittableRandom random) {
+        int[] rank = new int[courseCount];
+        for (int i = 0; i < courseCount; i++) {
+            rank[i] = i + 1;
+        }
+        for (int i = courseCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rank[i];
+            rank[i] = rank[j];
+            rank[j] = swap;
+        }
+        double[] cdf = new double[courseCount];
+        double total = 0;
+        for (int i = 0; i < courseCount; i++) {
+            total += 1.0 / Math.pow(rank[i], popularitySkew);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < courseCount; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    // Index of the first course whose cumulative weight reaches u
+    private static int sample(double[] cdf, double u) {
+        int index = Arrays.binarySearch(cdf, u);
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long nextId(JdbcTemplate jdbc, String table) {
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private static void flush(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
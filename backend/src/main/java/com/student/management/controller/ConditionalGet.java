@@ -0,0 +1,29 @@
+package com.student.management.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+// Conditional GET for polled list endpoints: the ETag comes from the modification counters, so
+// an unchanged list is answered with 304 before any query runs or any DTO is built
+final class ConditionalGet {
+    
+    private ConditionalGet() {}
+    
+    static <T> ResponseEntity<T> of(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        // no-cache: browsers keep the body but revalidate with If-None-Match on every poll.
+        // Vary: the same URL also answers in CBOR or Smile
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
+}
@@ -1,13 +1,27 @@
 package com.student.management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.csv.CsvReader;
 import com.student.management.dto.CourseDto;
+import com.student.management.dto.ImportReport;
+import com.student.management.dto.PageResponse;
+import com.student.management.dto.Suggestion;
+import com.student.management.metrics.SqlBudget;
+import com.student.management.service.ConflictRetry;
 import com.student.management.service.CourseService;
+import com.student.management.service.CsvImportService;
+import com.student.management.service.ModificationCounters;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,22 +32,70 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
     
+    @Autowired
+    private ConflictRetry conflictRetry;
+    
+    @Autowired
+    private ModificationCounters modificationCounters;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CsvImportService csvImportService;
+    
+    @SqlBudget(2)
     @GetMapping
-    public ResponseEntity<List<CourseDto>> getAllCourses() {
-        List<CourseDto> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<?> getAllCourses(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseDto.class);
+        return ConditionalGet.of(request, modificationCounters.etag(ModificationCounters.Table.COURSES),
+                () -> selection.isIdsOnly()
+                        ? courseService.getAllCourseIds()
+                        : selection.apply(courseService.getAllCourses(selection.includes("studentIds"))));
+    }
+    
+    @SqlBudget(2)
+    @GetMapping("/page")
+    public ResponseEntity<?> getCoursesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseDto.class);
+        if (selection.isIdsOnly()) {
+            return ResponseEntity.ok(courseService.getCourseIdsPage(cursor, size));
+        }
+        PageResponse<CourseDto> page = courseService.getCoursesPage(cursor, size, selection.includes("studentIds"));
+        return ResponseEntity.ok(selection.apply(page));
+    }
+    
+    // Bulk create from CSV (header line first); the body is read as it arrives
+    @PostMapping(value = "/import", consumes = CsvReader.MEDIA_TYPE)
+    public ResponseEntity<ImportReport> importCourses(InputStream csv) {
+        return ResponseEntity.ok(csvImportService.importCourses(csv));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCourses() {
+        return NdjsonResponse.of(objectMapper, courseService::streamCourses);
     }
     
+    @SqlBudget(2)
     @GetMapping("/active")
-    public ResponseEntity<List<CourseDto>> getActiveCourses() {
-        List<CourseDto> courses = courseService.getActiveCourses();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<?> getActiveCourses(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseDto.class);
+        return ConditionalGet.of(request, modificationCounters.etag(ModificationCounters.Table.COURSES),
+                () -> selection.isIdsOnly()
+                        ? courseService.getActiveCourseIds()
+                        : selection.apply(courseService.getActiveCourses(selection.includes("studentIds"))));
     }
     
+    @SqlBudget(2)
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDto> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<?> getCourseById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parseForItem(fields, CourseDto.class);
+        // The cached DTO is complete, so one entry serves every selection
         CourseDto course = courseService.getCourseById(id);
-        return ResponseEntity.ok(course);
+        return ResponseEntity.ok().eTag(VersionTags.of(course.getVersion())).body(selection.apply(course));
     }
     
     @PostMapping
@@ -43,9 +105,13 @@ public class CourseController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<CourseDto> updateCourse(@PathVariable Long id, @Valid @RequestBody CourseDto courseDto) {
-        CourseDto updatedCourse = courseService.updateCourse(id, courseDto);
-        return ResponseEntity.ok(updatedCourse);
+    public ResponseEntity<CourseDto> updateCourse(
+            @PathVariable Long id,
+            @Valid @RequestBody CourseDto courseDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // With If-Match the update only applies to the version the client last read (else 412)
+        CourseDto updatedCourse = courseService.updateCourse(id, courseDto, VersionTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersionTags.of(updatedCourse.getVersion())).body(updatedCourse);
     }
     
     @DeleteMapping("/{id}")
@@ -54,15 +120,47 @@ public class CourseController {
         return ResponseEntity.noContent().build();
     }
     
+    @SqlBudget(2)
     @GetMapping("/search")
-    public ResponseEntity<List<CourseDto>> searchCourses(@RequestParam(required = false) String q) {
-        List<CourseDto> courses = courseService.searchCourses(q);
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<?> searchCourses(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseDto.class);
+        if (selection.isIdsOnly()) {
+            return ResponseEntity.ok(courseService.searchCourseIds(q));
+        }
+        List<CourseDto> courses = courseService.searchCourses(q, selection.includes("studentIds"));
+        return ResponseEntity.ok(selection.apply(courses));
+    }
+    
+    @SqlBudget(1)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggestCourses(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        List<Suggestion> suggestions = courseService.suggestCourses(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+    
+    @SqlBudget(2)
+    @GetMapping("/search/page")
+    public ResponseEntity<?> searchCoursesPage(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseDto.class);
+        if (selection.isIdsOnly()) {
+            return ResponseEntity.ok(courseService.searchCourseIdsPage(q, cursor, size));
+        }
+        PageResponse<CourseDto> page = courseService.searchCoursesPage(q, cursor, size, selection.includes("studentIds"));
+        return ResponseEntity.ok(selection.apply(page));
     }
     
     @PostMapping("/{courseId}/students")
     public ResponseEntity<Void> enrollStudentsInCourse(@PathVariable Long courseId, @RequestBody List<Long> studentIds) {
-        courseService.enrollStudentsInCourse(courseId, studentIds.stream().collect(java.util.stream.Collectors.toSet()));
+        conflictRetry.run(() -> courseService.enrollStudentsInCourse(
+                courseId, studentIds.stream().collect(java.util.stream.Collectors.toSet())));
         return ResponseEntity.ok().build();
     }
 }
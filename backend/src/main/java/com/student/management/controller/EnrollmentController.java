@@ -1,13 +1,29 @@
 package com.student.management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.dto.BulkEnrollmentRequest;
+import com.student.management.dto.BulkEnrollmentResponse;
 import com.student.management.dto.EnrollmentRequest;
 import com.student.management.dto.EnrollmentResponse;
+import com.student.management.dto.EnrollmentStatus;
+import com.student.management.dto.EnrollmentTicket;
+import com.student.management.dto.PageResponse;
+import com.student.management.dto.WaitlistEntryResponse;
+import com.student.management.exception.ResourceNotFoundException;
+import com.student.management.metrics.SqlBudget;
+import com.student.management.service.ConflictRetry;
+import com.student.management.service.EnrollmentBurstQueue;
 import com.student.management.service.EnrollmentService;
+import com.student.management.service.ModificationCounters;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -18,33 +34,101 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentService enrollmentService;
 
+    @Autowired
+    private EnrollmentBurstQueue burstQueue;
+
+    @Autowired
+    private ConflictRetry conflictRetry;
+
+    @Autowired
+    private ModificationCounters modificationCounters;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/enroll")
-    public ResponseEntity<EnrollmentResponse> enrollStudentInCourse(@Valid @RequestBody EnrollmentRequest request) {
-        EnrollmentResponse response = enrollmentService.enrollStudentInCourse(request.getStudentId(), request.getCourseId());
+    public ResponseEntity<?> enrollStudentInCourse(@Valid @RequestBody EnrollmentRequest request) {
+        // Burst mode only queues the request; the outcome is read from the ticket
+        if (burstQueue.isEnabled()) {
+            EnrollmentTicket ticket = burstQueue.submit(request.getStudentId(), request.getCourseId());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/enrollments/tickets/" + ticket.getId()))
+                    .body(ticket);
+        }
+        EnrollmentResponse response = conflictRetry.run(
+                () -> enrollmentService.enrollStudentInCourse(request.getStudentId(), request.getCourseId()));
+        // A waitlisted request is accepted but not yet an enrollment
+        if (response.getStatus() == EnrollmentStatus.WAITLISTED) {
+            return ResponseEntity.accepted().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/tickets/{id}")
+    public ResponseEntity<EnrollmentTicket> getTicket(@PathVariable String id) {
+        EnrollmentTicket ticket = burstQueue.findTicket(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment ticket not found with id: " + id));
+        return ResponseEntity.ok(ticket);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkEnrollmentResponse> bulkEnroll(@Valid @RequestBody BulkEnrollmentRequest request) {
+        BulkEnrollmentResponse response = conflictRetry.run(() -> enrollmentService.bulkEnroll(request.getEnrollments()));
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/unenroll/{studentId}/{courseId}")
     public ResponseEntity<Void> unenrollStudentFromCourse(@PathVariable Long studentId, @PathVariable Long courseId) {
-        enrollmentService.unenrollStudentFromCourse(studentId, courseId);
+        conflictRetry.run(() -> enrollmentService.unenrollStudentFromCourse(studentId, courseId));
         return ResponseEntity.noContent().build();
     }
 
+    @SqlBudget(2)
     @GetMapping("/student/{studentId}")
     public ResponseEntity<List<EnrollmentResponse>> getStudentEnrollments(@PathVariable Long studentId) {
         List<EnrollmentResponse> enrollments = enrollmentService.getStudentEnrollments(studentId);
         return ResponseEntity.ok(enrollments);
     }
 
+    @SqlBudget(2)
     @GetMapping("/course/{courseId}")
     public ResponseEntity<List<EnrollmentResponse>> getCourseEnrollments(@PathVariable Long courseId) {
         List<EnrollmentResponse> enrollments = enrollmentService.getCourseEnrollments(courseId);
         return ResponseEntity.ok(enrollments);
     }
 
+    @SqlBudget(2)
+    @GetMapping("/waitlist/{courseId}")
+    public ResponseEntity<List<WaitlistEntryResponse>> getWaitlist(@PathVariable Long courseId) {
+        List<WaitlistEntryResponse> waitlist = enrollmentService.getWaitlist(courseId);
+        return ResponseEntity.ok(waitlist);
+    }
+
+    @SqlBudget(1)
     @GetMapping
-    public ResponseEntity<List<EnrollmentResponse>> getAllEnrollments() {
-        List<EnrollmentResponse> enrollments = enrollmentService.getAllEnrollments();
-        return ResponseEntity.ok(enrollments);
+    public ResponseEntity<List<EnrollmentResponse>> getAllEnrollments(WebRequest request) {
+        // Rows carry student and course names, so those tables are part of the tag
+        String etag = modificationCounters.etag(ModificationCounters.Table.ENROLLMENTS,
+                ModificationCounters.Table.STUDENTS, ModificationCounters.Table.COURSES);
+        return ConditionalGet.of(request, etag, enrollmentService::getAllEnrollments);
+    }
+
+    @SqlBudget(1)
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<EnrollmentResponse>> getEnrollmentsPage(
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        PageResponse<EnrollmentResponse> page = enrollmentService.getEnrollmentsPage(studentId, courseId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEnrollments(
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Long courseId) {
+        return NdjsonResponse.<EnrollmentResponse>of(objectMapper,
+                sink -> enrollmentService.streamEnrollments(studentId, courseId, sink));
     }
 }
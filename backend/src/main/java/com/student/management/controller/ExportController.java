@@ -0,0 +1,57 @@
+package com.student.management.controller;
+
+import com.student.management.export.ExportFormat;
+import com.student.management.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ExportController {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @GetMapping("/students")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return download("students", exportFormat, out -> exportService.exportStudents(exportFormat, out));
+    }
+    
+    @GetMapping("/courses")
+    public ResponseEntity<StreamingResponseBody> exportCourses(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return download("courses", exportFormat, out -> exportService.exportCourses(exportFormat, out));
+    }
+    
+    @GetMapping("/enrollments")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return download("enrollments", exportFormat,
+                out -> exportService.exportEnrollments(studentId, courseId, exportFormat, out));
+    }
+    
+    // The body runs on the async request thread, so the cursor is read while the response is written
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,82 @@
+package com.student.management.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.student.management.config.JacksonConfig;
+import com.student.management.exception.ValidationException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// ?fields= on the DTO read endpoints: "id,firstName" writes only those properties, and the ID
+// sets are only loaded when named; "ids-only" answers collection endpoints with bare IDs
+final class FieldSelection {
+    
+    static final String IDS_ONLY = "ids-only";
+    
+    private static final FieldSelection ALL = new FieldSelection(null, false);
+    
+    private final Set<String> fields;
+    private final boolean idsOnly;
+    
+    private FieldSelection(Set<String> fields, boolean idsOnly) {
+        this.fields = fields;
+        this.idsOnly = idsOnly;
+    }
+    
+    static FieldSelection parse(String raw, Class<?> dtoType) {
+        if (raw == null || raw.isBlank()) {
+            return ALL;
+        }
+        if (raw.trim().equals(IDS_ONLY)) {
+            return new FieldSelection(Set.of("id"), true);
+        }
+        Set<String> known = Arrays.stream(dtoType.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> fields = new LinkedHashSet<>();
+        for (String name : raw.split(",")) {
+            String field = name.trim();
+            if (!known.contains(field)) {
+                throw new ValidationException("Unknown field '" + field + "', expected any of " + known);
+            }
+            fields.add(field);
+        }
+        return new FieldSelection(fields, false);
+    }
+    
+    // Single-resource reads have no ID list to return
+    static FieldSelection parseForItem(String raw, Class<?> dtoType) {
+        FieldSelection selection = parse(raw, dtoType);
+        if (selection.idsOnly) {
+            throw new ValidationException("fields=" + IDS_ONLY + " is only supported on list endpoints");
+        }
+        return selection;
+    }
+    
+    boolean isIdsOnly() {
+        return idsOnly;
+    }
+    
+    boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+    
+    // Wraps the body so the converter applies the filter; without a selection it is returned as is
+    Object apply(Object body) {
+        if (fields == null) {
+            return body;
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+                .addFilter(JacksonConfig.FIELD_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+}
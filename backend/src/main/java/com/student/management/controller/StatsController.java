@@ -0,0 +1,27 @@
+package com.student.management.controller;
+
+import com.student.management.dto.StatsResponse;
+import com.student.management.metrics.SqlBudget;
+import com.student.management.service.EnrollmentStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "http://localhost:4200")
+public class StatsController {
+    
+    @Autowired
+    private EnrollmentStats enrollmentStats;
+    
+    // Served from in-memory aggregates; no query runs
+    @SqlBudget(0)
+    @GetMapping
+    public ResponseEntity<StatsResponse> getStats() {
+        return ResponseEntity.ok(enrollmentStats.snapshot());
+    }
+}
@@ -1,13 +1,27 @@
 package com.student.management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.csv.CsvReader;
 import com.student.management.dto.StudentDto;
+import com.student.management.dto.ImportReport;
+import com.student.management.dto.PageResponse;
+import com.student.management.dto.Suggestion;
+import com.student.management.metrics.SqlBudget;
+import com.student.management.service.ConflictRetry;
+import com.student.management.service.CsvImportService;
+import com.student.management.service.ModificationCounters;
 import com.student.management.service.StudentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,16 +32,60 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
     
+    @Autowired
+    private ConflictRetry conflictRetry;
+    
+    @Autowired
+    private ModificationCounters modificationCounters;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CsvImportService csvImportService;
+    
+    @SqlBudget(2)
     @GetMapping
-    public ResponseEntity<List<StudentDto>> getAllStudents() {
-        List<StudentDto> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, StudentDto.class);
+        return ConditionalGet.of(request, modificationCounters.etag(ModificationCounters.Table.STUDENTS),
+                () -> selection.isIdsOnly()
+                        ? studentService.getAllStudentIds()
+                        : selection.apply(studentService.getAllStudents(selection.includes("courseIds"))));
+    }
+    
+    @SqlBudget(2)
+    @GetMapping("/page")
+    public ResponseEntity<?> getStudentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, StudentDto.class);
+        if (selection.isIdsOnly()) {
+            return ResponseEntity.ok(studentService.getStudentIdsPage(cursor, size));
+        }
+        PageResponse<StudentDto> page = studentService.getStudentsPage(cursor, size, selection.includes("courseIds"));
+        return ResponseEntity.ok(selection.apply(page));
+    }
+    
+    // Bulk create from CSV (header line first); the body is read as it arrives
+    @PostMapping(value = "/import", consumes = CsvReader.MEDIA_TYPE)
+    public ResponseEntity<ImportReport> importStudents(InputStream csv) {
+        return ResponseEntity.ok(csvImportService.importStudents(csv));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStudents() {
+        return NdjsonResponse.of(objectMapper, studentService::streamStudents);
     }
     
+    @SqlBudget(2)
     @GetMapping("/{id}")
-    public ResponseEntity<StudentDto> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<?> getStudentById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parseForItem(fields, StudentDto.class);
+        // The cached DTO is complete, so one entry serves every selection
         StudentDto student = studentService.getStudentById(id);
-        return ResponseEntity.ok(student);
+        return ResponseEntity.ok().eTag(VersionTags.of(student.getVersion())).body(selection.apply(student));
     }
     
     @PostMapping
@@ -37,9 +95,13 @@ public class StudentController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<StudentDto> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentDto studentDto) {
-        StudentDto updatedStudent = studentService.updateStudent(id, studentDto);
-        return ResponseEntity.ok(updatedStudent);
+    public ResponseEntity<StudentDto> updateStudent(
+            @PathVariable Long id,
+            @Valid @RequestBody StudentDto studentDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // With If-Match the update only applies to the version the client last read (else 412)
+        StudentDto updatedStudent = studentService.updateStudent(id, studentDto, VersionTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersionTags.of(updatedStudent.getVersion())).body(updatedStudent);
     }
     
     @DeleteMapping("/{id}")
@@ -48,15 +110,47 @@ public class StudentController {
         return ResponseEntity.noContent().build();
     }
     
+    @SqlBudget(2)
     @GetMapping("/search")
-    public ResponseEntity<List<StudentDto>> searchStudents(@RequestParam(required = false) String q) {
-        List<StudentDto> students = studentService.searchStudents(q);
-        return ResponseEntity.ok(students);
+    public ResponseEntity<?> searchStudents(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, StudentDto.class);
+        if (selection.isIdsOnly()) {
+            return ResponseEntity.ok(studentService.searchStudentIds(q));
+        }
+        List<StudentDto> students = studentService.searchStudents(q, selection.includes("courseIds"));
+        return ResponseEntity.ok(selection.apply(students));
+    }
+    
+    @SqlBudget(1)
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggestStudents(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        List<Suggestion> suggestions = studentService.suggestStudents(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+    
+    @SqlBudget(2)
+    @GetMapping("/search/page")
+    public ResponseEntity<?> searchStudentsPage(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, StudentDto.class);
+        if (selection.isIdsOnly()) {
+            return ResponseEntity.ok(studentService.searchStudentIdsPage(q, cursor, size));
+        }
+        PageResponse<StudentDto> page = studentService.searchStudentsPage(q, cursor, size, selection.includes("courseIds"));
+        return ResponseEntity.ok(selection.apply(page));
     }
     
     @PostMapping("/{studentId}/courses")
     public ResponseEntity<Void> enrollStudentInCourses(@PathVariable Long studentId, @RequestBody List<Long> courseIds) {
-        studentService.enrollStudentInCourses(studentId, courseIds.stream().collect(java.util.stream.Collectors.toSet()));
+        conflictRetry.run(() -> studentService.enrollStudentInCourses(
+                studentId, courseIds.stream().collect(java.util.stream.Collectors.toSet())));
         return ResponseEntity.ok().build();
     }
 }
@@ -0,0 +1,32 @@
+package com.student.management.controller;
+
+import com.student.management.exception.PreconditionFailedException;
+
+// Entity versions as ETags ("3") and back from If-Match, for optimistic PUTs
+final class VersionTags {
+    
+    private VersionTags() {}
+    
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+    
+    // null when the header is absent or "*", i.e. the update is unconditional
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single ETag such as \"3\"");
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any version: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.student.management.csv;
+
+// Malformed CSV structure (not a bad value); the rest of the input cannot be trusted
+public class CsvFormatException extends RuntimeException {
+    
+    private final int line;
+    
+    public CsvFormatException(int line, String message) {
+        super("Line " + line + ": " + message);
+        this.line = line;
+    }
+    
+    public int getLine() {
+        return line;
+    }
+}
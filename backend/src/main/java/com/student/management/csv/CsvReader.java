@@ -0,0 +1,114 @@
+package com.student.management.csv;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Minimal RFC 4180 reader: comma separated, double-quoted fields may hold commas, doubled quotes
+// and line breaks. Returns one record at a time, so an import never holds the whole file.
+public class CsvReader implements Closeable {
+    
+    public static final String MEDIA_TYPE = "text/csv";
+    
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+    
+    private final Reader in;
+    private int line = 1;
+    private int recordLine;
+    private int pushedBack = -1;
+    
+    public CsvReader(InputStream in) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+    
+    // null at end of input
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (recordLine == 0 && c == BYTE_ORDER_MARK) {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new CsvFormatException(recordLine, "unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',' || c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+                if (c != ',') {
+                    endOfRecord(c);
+                    return fields;
+                }
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (wasQuoted) {
+                throw new CsvFormatException(recordLine, "unexpected character after closing quote");
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+    
+    // Line on which the last returned record started
+    public int getLineNumber() {
+        return recordLine;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+    private void endOfRecord(int c) throws IOException {
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pushedBack = next;
+            }
+        }
+        if (c != -1) {
+            line++;
+        }
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return in.read();
+    }
+}
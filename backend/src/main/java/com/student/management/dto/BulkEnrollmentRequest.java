@@ -0,0 +1,32 @@
+package com.student.management.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkEnrollmentRequest {
+    
+    @NotEmpty(message = "At least one enrollment is required")
+    @Size(max = 10000, message = "A bulk request cannot exceed 10000 enrollments")
+    @Valid
+    private List<EnrollmentRequest> enrollments;
+    
+    // Default constructor
+    public BulkEnrollmentRequest() {}
+    
+    // Parameterized constructor
+    public BulkEnrollmentRequest(List<EnrollmentRequest> enrollments) {
+        this.enrollments = enrollments;
+    }
+    
+    // Getters and setters
+    public List<EnrollmentRequest> getEnrollments() {
+        return enrollments;
+    }
+    
+    public void setEnrollments(List<EnrollmentRequest> enrollments) {
+        this.enrollments = enrollments;
+    }
+}
@@ -0,0 +1,57 @@
+package com.student.management.dto;
+
+import java.util.List;
+
+public class BulkEnrollmentResponse {
+    
+    private int requested;
+    private int enrolled;
+    private int failed;
+    private List<BulkEnrollmentResult> results;
+    
+    // Default constructor
+    public BulkEnrollmentResponse() {}
+    
+    // Parameterized constructor
+    public BulkEnrollmentResponse(List<BulkEnrollmentResult> results) {
+        this.results = results;
+        this.requested = results.size();
+        this.enrolled = (int) results.stream()
+            .filter(result -> result.getStatus() == EnrollmentStatus.ENROLLED)
+            .count();
+        this.failed = requested - enrolled;
+    }
+    
+    // Getters and setters
+    public int getRequested() {
+        return requested;
+    }
+    
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+    
+    public int getEnrolled() {
+        return enrolled;
+    }
+    
+    public void setEnrolled(int enrolled) {
+        this.enrolled = enrolled;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<BulkEnrollmentResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<BulkEnrollmentResult> results) {
+        this.results = results;
+    }
+}
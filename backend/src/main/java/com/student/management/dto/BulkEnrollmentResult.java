@@ -0,0 +1,53 @@
+package com.student.management.dto;
+
+public class BulkEnrollmentResult {
+    
+    private Long studentId;
+    private Long courseId;
+    private EnrollmentStatus status;
+    private String message;
+    
+    // Default constructor
+    public BulkEnrollmentResult() {}
+    
+    // Parameterized constructor
+    public BulkEnrollmentResult(Long studentId, Long courseId, EnrollmentStatus status, String message) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.status = status;
+        this.message = message;
+    }
+    
+    // Getters and setters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(EnrollmentStatus status) {
+        this.status = status;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
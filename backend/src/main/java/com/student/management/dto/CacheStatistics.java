@@ -0,0 +1,73 @@
+package com.student.management.dto;
+
+public class CacheStatistics {
+    
+    private String name;
+    private long size;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long evictions;
+    
+    // Default constructor
+    public CacheStatistics() {}
+    
+    // Parameterized constructor
+    public CacheStatistics(String name, long size, long hits, long misses, double hitRatio, long evictions) {
+        this.name = name;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRatio = hitRatio;
+        this.evictions = evictions;
+    }
+    
+    // Getters and setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public long getSize() {
+        return size;
+    }
+    
+    public void setSize(long size) {
+        this.size = size;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+    
+    public double getHitRatio() {
+        return hitRatio;
+    }
+    
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+}
@@ -32,8 +32,14 @@ public class CourseDto {
     private LocalDate startDate;
     private LocalDate endDate;
     private Boolean isActive = true;
+    
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+    
+    private Integer enrolledCount;
     private LocalDate createdAt;
     private LocalDate updatedAt;
+    private Long version;
     private Set<Long> studentIds;
     
     // Constructors
@@ -119,6 +125,22 @@ public class CourseDto {
         this.isActive = isActive;
     }
     
+    public Integer getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+    
+    public Integer getEnrolledCount() {
+        return enrolledCount;
+    }
+    
+    public void setEnrolledCount(Integer enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
+    
     public LocalDate getCreatedAt() {
         return createdAt;
     }
@@ -135,6 +157,14 @@ public class CourseDto {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public Set<Long> getStudentIds() {
         return studentIds;
     }
@@ -10,6 +10,8 @@ public class EnrollmentResponse {
     private LocalDateTime enrolledAt;
     private String studentName;
     private String courseName;
+    // WAITLISTED when the course was full and the request joined its queue
+    private EnrollmentStatus status = EnrollmentStatus.ENROLLED;
     
     // Default constructor
     public EnrollmentResponse() {}
@@ -73,4 +75,12 @@ public class EnrollmentResponse {
     public void setCourseName(String courseName) {
         this.courseName = courseName;
     }
+    
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(EnrollmentStatus status) {
+        this.status = status;
+    }
 }
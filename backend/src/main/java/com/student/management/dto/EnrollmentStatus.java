@@ -0,0 +1,12 @@
+package com.student.management.dto;
+
+public enum EnrollmentStatus {
+    ENROLLED,
+    ALREADY_ENROLLED,
+    DUPLICATE_REQUEST,
+    STUDENT_NOT_FOUND,
+    COURSE_NOT_FOUND,
+    COURSE_INACTIVE,
+    COURSE_FULL,
+    WAITLISTED
+}
@@ -0,0 +1,103 @@
+package com.student.management.dto;
+
+import java.time.LocalDateTime;
+
+public class EnrollmentTicket {
+    
+    private String id;
+    private Long studentId;
+    private Long courseId;
+    private TicketState state;
+    // Outcome once processed, as reported by bulk enrollment
+    private EnrollmentStatus status;
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    
+    // Default constructor
+    public EnrollmentTicket() {}
+    
+    // Parameterized constructor for a newly queued request
+    public EnrollmentTicket(String id, Long studentId, Long courseId, LocalDateTime submittedAt) {
+        this.id = id;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.state = TicketState.QUEUED;
+        this.submittedAt = submittedAt;
+    }
+    
+    // Copy of this ticket with its final outcome
+    public EnrollmentTicket complete(TicketState state, EnrollmentStatus status, String message) {
+        EnrollmentTicket completed = new EnrollmentTicket(id, studentId, courseId, submittedAt);
+        completed.setState(state);
+        completed.setStatus(status);
+        completed.setMessage(message);
+        completed.setCompletedAt(LocalDateTime.now());
+        return completed;
+    }
+    
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+    
+    public TicketState getState() {
+        return state;
+    }
+    
+    public void setState(TicketState state) {
+        this.state = state;
+    }
+    
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(EnrollmentStatus status) {
+        this.status = status;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
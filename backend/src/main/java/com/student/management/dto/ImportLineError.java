@@ -0,0 +1,33 @@
+package com.student.management.dto;
+
+public class ImportLineError {
+    
+    private int line;
+    private String message;
+    
+    // Default constructor
+    public ImportLineError() {}
+    
+    // Parameterized constructor
+    public ImportLineError(int line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+    
+    // Getters and setters
+    public int getLine() {
+        return line;
+    }
+    
+    public void setLine(int line) {
+        this.line = line;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,40 @@
+package com.student.management.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    
+    private int imported;
+    private int failed;
+    // First app.import.max-reported-errors failures; failed counts all of them
+    private List<ImportLineError> errors = new ArrayList<>();
+    
+    // Default constructor
+    public ImportReport() {}
+    
+    // Getters and setters
+    public int getImported() {
+        return imported;
+    }
+    
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<ImportLineError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<ImportLineError> errors) {
+        this.errors = errors;
+    }
+}
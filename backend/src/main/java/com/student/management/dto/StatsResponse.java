@@ -0,0 +1,99 @@
+package com.student.management.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Dashboard aggregates; studentsPerCourse maps course ID to enrolled students
+public class StatsResponse {
+    
+    private long totalStudents;
+    private long studentsWithCourses;
+    private long totalCourses;
+    private long activeCourses;
+    private long totalEnrollments;
+    private BigDecimal totalRevenue;
+    private double averageCoursesPerStudent;
+    private Map<Long, Integer> studentsPerCourse;
+    
+    // Default constructor
+    public StatsResponse() {}
+    
+    // Parameterized constructor
+    public StatsResponse(long totalStudents, long studentsWithCourses, long totalCourses, long activeCourses,
+                         long totalEnrollments, BigDecimal totalRevenue, double averageCoursesPerStudent,
+                         Map<Long, Integer> studentsPerCourse) {
+        this.totalStudents = totalStudents;
+        this.studentsWithCourses = studentsWithCourses;
+        this.totalCourses = totalCourses;
+        this.activeCourses = activeCourses;
+        this.totalEnrollments = totalEnrollments;
+        this.totalRevenue = totalRevenue;
+        this.averageCoursesPerStudent = averageCoursesPerStudent;
+        this.studentsPerCourse = studentsPerCourse;
+    }
+    
+    // Getters and setters
+    public long getTotalStudents() {
+        return totalStudents;
+    }
+    
+    public void setTotalStudents(long totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+    
+    public long getStudentsWithCourses() {
+        return studentsWithCourses;
+    }
+    
+    public void setStudentsWithCourses(long studentsWithCourses) {
+        this.studentsWithCourses = studentsWithCourses;
+    }
+    
+    public long getTotalCourses() {
+        return totalCourses;
+    }
+    
+    public void setTotalCourses(long totalCourses) {
+        this.totalCourses = totalCourses;
+    }
+    
+    public long getActiveCourses() {
+        return activeCourses;
+    }
+    
+    public void setActiveCourses(long activeCourses) {
+        this.activeCourses = activeCourses;
+    }
+    
+    public long getTotalEnrollments() {
+        return totalEnrollments;
+    }
+    
+    public void setTotalEnrollments(long totalEnrollments) {
+        this.totalEnrollments = totalEnrollments;
+    }
+    
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+    
+    public void setTotalRevenue(BigDecimal totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+    
+    public double getAverageCoursesPerStudent() {
+        return averageCoursesPerStudent;
+    }
+    
+    public void setAverageCoursesPerStudent(double averageCoursesPerStudent) {
+        this.averageCoursesPerStudent = averageCoursesPerStudent;
+    }
+    
+    public Map<Long, Integer> getStudentsPerCourse() {
+        return studentsPerCourse;
+    }
+    
+    public void setStudentsPerCourse(Map<Long, Integer> studentsPerCourse) {
+        this.studentsPerCourse = studentsPerCourse;
+    }
+}
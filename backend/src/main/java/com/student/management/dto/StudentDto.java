@@ -29,6 +29,7 @@ public class StudentDto {
     
     private LocalDate createdAt;
     private LocalDate updatedAt;
+    private Long version;
     private Set<Long> courseIds;
     
     // Constructors
@@ -106,6 +107,14 @@ public class StudentDto {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public Set<Long> getCourseIds() {
         return courseIds;
     }
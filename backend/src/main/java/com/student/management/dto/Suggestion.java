@@ -0,0 +1,33 @@
+package com.student.management.dto;
+
+public class Suggestion {
+    
+    private Long id;
+    private String label;
+    
+    // Default constructor
+    public Suggestion() {}
+    
+    // Parameterized constructor
+    public Suggestion(Long id, String label) {
+        this.id = id;
+        this.label = label;
+    }
+    
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public void setLabel(String label) {
+        this.label = label;
+    }
+}
@@ -0,0 +1,7 @@
+package com.student.management.dto;
+
+public enum TicketState {
+    QUEUED,
+    COMPLETED,
+    FAILED
+}
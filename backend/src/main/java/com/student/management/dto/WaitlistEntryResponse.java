@@ -0,0 +1,55 @@
+package com.student.management.dto;
+
+import java.time.LocalDateTime;
+
+public class WaitlistEntryResponse {
+    
+    private int position;
+    private Long studentId;
+    private String studentName;
+    private LocalDateTime requestedAt;
+    
+    // Default constructor
+    public WaitlistEntryResponse() {}
+    
+    // Parameterized constructor
+    public WaitlistEntryResponse(int position, Long studentId, String studentName, LocalDateTime requestedAt) {
+        this.position = position;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.requestedAt = requestedAt;
+    }
+    
+    // Getters and setters
+    public int getPosition() {
+        return position;
+    }
+    
+    public void setPosition(int position) {
+        this.position = position;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getStudentName() {
+        return studentName;
+    }
+    
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+    
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+    
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+}
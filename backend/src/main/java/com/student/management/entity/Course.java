@@ -9,10 +9,13 @@ import java.util.Set;
 
 @Entity
 @Table(name = "courses")
+@EntityListeners(ModificationListener.class)
 public class Course {
     
+    // Pooled sequence (50 ids per call) so inserts can go out in JDBC batches; see V6
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Course code is required")
@@ -49,12 +52,25 @@ public class Course {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    @Min(value = 1, message = "Capacity must be at least 1")
+    @Column(name = "capacity")
+    private Integer capacity;
+    
+    // Maintained by conditional UPDATEs in EnrollmentRepository, never written from the entity
+    @Column(name = "enrolled_count", insertable = false, updatable = false)
+    private Integer enrolledCount = 0;
+    
     @Column(name = "created_at")
     private LocalDate createdAt;
     
     @Column(name = "updated_at")
     private LocalDate updatedAt;
     
+    // Checked and bumped by every UPDATE; a stale version fails the write instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @ManyToMany(mappedBy = "courses", fetch = FetchType.LAZY)
     private Set<Student> students = new HashSet<>();
     
@@ -164,6 +180,22 @@ public class Course {
         this.isActive = isActive;
     }
     
+    public Integer getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+    
+    public Integer getEnrolledCount() {
+        return enrolledCount;
+    }
+    
+    public void setEnrolledCount(Integer enrolledCount) {
+        this.enrolledCount = enrolledCount;
+    }
+    
     public LocalDate getCreatedAt() {
         return createdAt;
     }
@@ -180,6 +212,14 @@ public class Course {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public Set<Student> getStudents() {
         return students;
     }
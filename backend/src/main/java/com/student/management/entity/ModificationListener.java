@@ -0,0 +1,74 @@
+package com.student.management.entity;
+
+import com.student.management.service.EnrollmentStats;
+import com.student.management.service.ModificationCounters;
+import com.student.management.service.ModificationCounters.Table;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Feeds the per-table modification counters and the dashboard aggregates from entity writes.
+// Hibernate creates it through Spring while the EntityManagerFactory is still being built, when
+// EnrollmentStats (which needs repositories) cannot exist yet; injecting it directly made Spring
+// give up and Hibernate fall back to a bare instance. Providers defer the lookup to the first
+// write instead. JPA test slices may lack both beans.
+public class ModificationListener {
+    
+    @Autowired
+    private ObjectProvider<ModificationCounters> countersProvider;
+    
+    @Autowired
+    private ObjectProvider<EnrollmentStats> statsProvider;
+    
+    @PostPersist
+    void persisted(Object entity) {
+        touch(entity);
+        EnrollmentStats stats = statsProvider.getIfAvailable();
+        if (stats == null) {
+            return;
+        }
+        if (entity instanceof Student) {
+            stats.studentCreated();
+        } else if (entity instanceof Course course) {
+            stats.courseChanged(course.getId(), course.getPrice(), course.getIsActive());
+        }
+    }
+    
+    @PostUpdate
+    void updated(Object entity) {
+        touch(entity);
+        EnrollmentStats stats = statsProvider.getIfAvailable();
+        if (stats != null && entity instanceof Course course) {
+            stats.courseChanged(course.getId(), course.getPrice(), course.getIsActive());
+        }
+    }
+    
+    @PostRemove
+    void removed(Object entity) {
+        touch(entity);
+        EnrollmentStats stats = statsProvider.getIfAvailable();
+        if (stats == null) {
+            return;
+        }
+        if (entity instanceof Student student) {
+            stats.studentDeleted(student.getId());
+        } else if (entity instanceof Course course) {
+            stats.courseDeleted(course.getId());
+        }
+    }
+    
+    private void touch(Object entity) {
+        ModificationCounters counters = countersProvider.getIfAvailable();
+        if (counters == null) {
+            return;
+        }
+        // Enrollment rows are listed with student and course names
+        if (entity instanceof Student) {
+            counters.touch(Table.STUDENTS, Table.ENROLLMENTS);
+        } else if (entity instanceof Course) {
+            counters.touch(Table.COURSES, Table.ENROLLMENTS);
+        }
+    }
+}
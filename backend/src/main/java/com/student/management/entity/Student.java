@@ -8,10 +8,13 @@ import java.util.Set;
 
 @Entity
 @Table(name = "students")
+@EntityListeners(ModificationListener.class)
 public class Student {
     
+    // Pooled sequence (50 ids per call) so inserts can go out in JDBC batches; see V6
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "First name is required")
@@ -44,6 +47,11 @@ public class Student {
     @Column(name = "updated_at")
     private LocalDate updatedAt;
     
+    // Checked and bumped by every UPDATE; a stale version fails the write instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
         name = "student_courses",
@@ -150,6 +158,14 @@ public class Student {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public Set<Course> getCourses() {
         return courses;
     }
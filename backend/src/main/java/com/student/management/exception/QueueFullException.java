@@ -0,0 +1,8 @@
+package com.student.management.exception;
+
+public class QueueFullException extends RuntimeException {
+    
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,52 @@
+package com.student.management.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// RFC 4180 output: a header line, CRLF line ends, fields quoted only when they contain a comma,
+// quote or line break. Student and course files import back as new rows; the import skips the
+// database-assigned columns (id, timestamps, version, enrolledCount)
+public class CsvRowWriter extends RowWriter {
+    
+    private final Writer out;
+    
+    public CsvRowWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    protected void start(String[] labels) throws IOException {
+        writeRow(labels, labels);
+        out.flush();
+    }
+    
+    @Override
+    protected void writeRow(String[] labels, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(textOf(values[i]));
+        }
+        out.write("\r\n");
+    }
+    
+    @Override
+    protected void finish() throws IOException {
+        out.flush();
+    }
+    
+    private void writeField(String field) throws IOException {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
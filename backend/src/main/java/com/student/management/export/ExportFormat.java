@@ -0,0 +1,36 @@
+package com.student.management.export;
+
+import com.student.management.exception.ValidationException;
+
+import java.util.Locale;
+
+// Only CSV: the NDJSON shapes are already served by the /stream endpoints
+public enum ExportFormat {
+    
+    CSV("text/csv", "csv");
+    
+    private final String mediaType;
+    private final String extension;
+    
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+    
+    public static ExportFormat parse(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unsupported export format '" + format + "', expected csv; "
+                    + "for NDJSON use /api/students/stream, /api/courses/stream or /api/enrollments/stream");
+        }
+    }
+    
+    public String getMediaType() {
+        return mediaType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,74 @@
+package com.student.management.export;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Copies a forward-only result set to the response one row at a time, so an export holds
+// nothing beyond the current row. The SQL column labels become the CSV header.
+// Returns the number of rows written.
+public abstract class RowWriter implements ResultSetExtractor<Long> {
+    
+    @Override
+    public final Long extractData(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] labels = new String[metaData.getColumnCount()];
+        int[] types = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+        }
+        
+        Object[] values = new Object[labels.length];
+        long rows = 0;
+        try {
+            start(labels);
+            while (rs.next()) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = valueOf(rs, i + 1, types[i]);
+                }
+                writeRow(labels, values);
+                rows++;
+            }
+            finish();
+        } catch (IOException e) {
+            // Typically the client went away; stop reading and release the cursor
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+    
+    // Called before the first row; implementations flush here so the response starts right away
+    protected abstract void start(String[] labels) throws IOException;
+    
+    protected abstract void writeRow(String[] labels, Object[] values) throws IOException;
+    
+    protected abstract void finish() throws IOException;
+    
+    private static Object valueOf(ResultSet rs, int column, int type) throws SQLException {
+        Object value = switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> rs.getLong(column);
+            case Types.DECIMAL, Types.NUMERIC -> rs.getBigDecimal(column);
+            case Types.BOOLEAN, Types.BIT -> rs.getBoolean(column);
+            case Types.DATE -> rs.getObject(column, LocalDate.class);
+            case Types.TIMESTAMP -> rs.getObject(column, LocalDateTime.class);
+            default -> rs.getString(column);
+        };
+        return rs.wasNull() ? null : value;
+    }
+    
+    protected static String textOf(Object value) {
+        if (value == null) {
+            return "";
+        }
+        return value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+}
@@ -0,0 +1,191 @@
+package com.student.management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Statements and database time per API request, tagged like http.server.requests (method and
+// URI template), so a slow endpoint can be told apart from a chatty one. Only the request
+// thread is counted: streamed bodies written on the async path are not attributed.
+// The count also goes out as X-SQL-Statements and is checked against the handler's @SqlBudget
+// just before the response commits, so in fail mode the client gets a 500 instead of the body.
+@Component
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatementMetricsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql-budget.mode:off}")
+    private SqlBudget.Mode budgetMode;
+
+    @Value("${app.sql-budget.header-enabled:false}")
+    private boolean headerEnabled;
+
+    private final ConcurrentMap<String, RequestMeters> meters = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements statements = RequestStatements.open();
+        try {
+            if (headerEnabled || budgetMode != SqlBudget.Mode.OFF) {
+                CommitHookResponse hooked = new CommitHookResponse(request, response, statements);
+                chain.doFilter(request, hooked);
+                // Bodiless responses (204, 304) are committed only after the filters return
+                hooked.beforeCommit();
+            } else {
+                chain.doFilter(request, response);
+            }
+        } finally {
+            RequestStatements.close();
+            record(request, statements);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatements statements) {
+        String method = request.getMethod();
+        String uri = uri(request);
+        RequestMeters requestMeters = meters.computeIfAbsent(method + " " + uri, key -> register(method, uri));
+        requestMeters.statements().record(statements.getCount());
+        requestMeters.time().record(statements.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // Once per method and URI template; the uri tag is bounded by the mapped endpoints
+    private RequestMeters register(String method, String uri) {
+        DistributionSummary statements = DistributionSummary.builder("db.statements.per.request")
+                .description("JDBC statements run by one API request")
+                .baseUnit("statements")
+                .tags("method", method, "uri", uri)
+                .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50, 100)
+                .register(meterRegistry);
+        Timer time = Timer.builder("db.time.per.request")
+                .description("Time one API request spent executing JDBC statements")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        return new RequestMeters(statements, time);
+    }
+
+    private void checkBudget(HttpServletRequest request, RequestStatements statements) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        SqlBudget budget = handler.getMethodAnnotation(SqlBudget.class);
+        if (budget == null || statements.getCount() <= budget.value()) {
+            return;
+        }
+        meterRegistry.counter("sql.budget.exceeded", "method", request.getMethod(), "uri", uri(request)).increment();
+        String message = request.getMethod() + " " + uri(request) + " ran " + statements.getCount()
+                + " SQL statements, budget is " + budget.value() + " (" + handler.getShortLogMessage() + ")";
+        log.warn(message);
+        if (budgetMode == SqlBudget.Mode.FAIL) {
+            throw new SqlBudgetExceededException(message);
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    private record RequestMeters(DistributionSummary statements, Timer time) {
+    }
+
+    // Runs the header and budget hook when the response is about to commit, i.e. once the handler
+    // has run its queries; the statements of a body written after that are not checked
+    private final class CommitHookResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final RequestStatements statements;
+        private boolean done;
+
+        CommitHookResponse(HttpServletRequest request, HttpServletResponse response, RequestStatements statements) {
+            super(response);
+            this.request = request;
+            this.statements = statements;
+        }
+
+        void beforeCommit() {
+            // Once only: the error response written after a budget failure passes through here again
+            if (done || isCommitted()) {
+                done = true;
+                return;
+            }
+            done = true;
+            if (headerEnabled) {
+                setHeader(STATEMENTS_HEADER, Integer.toString(statements.getCount()));
+            }
+            if (budgetMode != SqlBudget.Mode.OFF) {
+                checkBudget(request, statements);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            beforeCommit();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            beforeCommit();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            beforeCommit();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            beforeCommit();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            beforeCommit();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            beforeCommit();
+            super.sendRedirect(location);
+        }
+    }
+}
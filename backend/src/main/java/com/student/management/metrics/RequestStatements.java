@@ -0,0 +1,41 @@
+package com.student.management.metrics;
+
+// JDBC statements run by the current request thread, counted by the statement listener and
+// read back by the request filter. Outside a request (startup, @Async work) nothing is open
+// and the listener only feeds the global timer.
+final class RequestStatements {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long nanos;
+
+    private RequestStatements() {
+    }
+
+    static RequestStatements open() {
+        RequestStatements statements = new RequestStatements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static void record(long elapsedNanos) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.count++;
+            statements.nanos += elapsedNanos;
+        }
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+}
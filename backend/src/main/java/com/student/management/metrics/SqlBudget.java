@@ -0,0 +1,21 @@
+package com.student.management.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Most JDBC statements one call of a controller method may run, whatever the number of rows:
+// a list that issues a query per row (lazy loading, per-item lookups) overshoots it as soon as
+// it returns more than a handful. Checked by RequestStatementMetricsFilter per app.sql-budget.mode.
+// Batched IN lookups split at 1000 ids, so lists past that size legitimately need more.
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int value();
+
+    enum Mode { OFF, WARN, FAIL }
+}
@@ -0,0 +1,9 @@
+package com.student.management.metrics;
+
+// Raised in app.sql-budget.mode=fail before the response commits, so the request answers 500
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
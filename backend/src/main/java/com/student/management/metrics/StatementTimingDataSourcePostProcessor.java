@@ -0,0 +1,114 @@
+package com.student.management.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Wraps the DataSource so every JDBC execution (JPA, JdbcTemplate, Flyway) is timed into
+// jdbc.statements and added to the running request's tally. The proxy still unwraps to the
+// Hikari pool, so the pool's own metrics (connection acquire time, usage) keep working.
+// Statements slower than app.slow-query.threshold are logged with their parameters, for a
+// sampled fraction only, so one slow table cannot flood the log.
+@Component
+public class StatementTimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("com.student.management.SlowQuery");
+
+    private static final String STARTED = "startedNanos";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowQueryNanos;
+    private final double slowQuerySampleRate;
+
+    public StatementTimingDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.slow-query.threshold:500ms}") Duration slowQueryThreshold,
+            @Value("${app.slow-query.sample-rate:1.0}") double slowQuerySampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.slowQuerySampleRate = slowQuerySampleRate;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new TimingListener())
+                    .build();
+        }
+        return bean;
+    }
+
+    private void logSlowQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, long elapsedNanos) {
+        if (slowQuerySampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= slowQuerySampleRate) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            // A batch logs its first parameter set only
+            List<List<ParameterSetOperation>> parameters = query.getParametersList();
+            String firstSet = parameters.isEmpty() ? "[]" : parameters.get(0).stream()
+                    .map(operation -> operation.getArgs()[0] + "=" + operation.getArgs()[1])
+                    .collect(Collectors.joining(", ", "[", "]"));
+            slowQueryLog.warn("Slow SQL took {} ms (batch of {}): {} params {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.max(1, execInfo.getBatchSize()),
+                    query.getQuery(), firstSet);
+        }
+    }
+
+    private class TimingListener implements QueryExecutionListener {
+
+        // Resolved on first use; the registry does not exist yet when the DataSource is wrapped
+        private volatile Timer timer;
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            execInfo.addCustomValue(STARTED, System.nanoTime());
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            long elapsed = System.nanoTime() - execInfo.getCustomValue(STARTED, Long.class);
+            RequestStatements.record(elapsed);
+            Timer statements = timer();
+            if (statements != null) {
+                statements.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            if (elapsed >= slowQueryNanos) {
+                logSlowQuery(execInfo, queryInfoList, elapsed);
+            }
+        }
+
+        private Timer timer() {
+            Timer statements = timer;
+            if (statements == null) {
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry != null) {
+                    statements = Timer.builder("jdbc.statements")
+                            .description("JDBC statement executions (a batch counts once)")
+                            .register(registry);
+                    timer = statements;
+                }
+            }
+            return statements;
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.student.management.repository;
 
 import com.student.management.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -16,6 +23,10 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     
     List<Course> findByCourseNameContainingIgnoreCase(String courseName);
     
+    // Bounded prefix match used by type-ahead while the search index is unavailable
+    List<Course> findByCourseCodeStartingWithIgnoreCaseOrCourseNameStartingWithIgnoreCase(
+        String courseCode, String courseName, Pageable pageable);
+    
     List<Course> findByIsActiveTrue();
     
     @Query("SELECT c FROM Course c JOIN c.students s WHERE s.id = :studentId")
@@ -24,4 +35,48 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     boolean existsByCourseCode(String courseCode);
     
     boolean existsByCourseCodeAndIdNot(String courseCode, Long id);
+    
+    // Keyset pagination: rows strictly after the given id, in id order
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // Pre-loaded by the CSV import so uniqueness is checked in memory, not per row
+    @Query("SELECT c.courseCode FROM Course c")
+    List<String> findAllCourseCodes();
+    
+    // ID-only listings read the key column alone, never the rows
+    @Query("SELECT c.id FROM Course c ORDER BY c.id")
+    List<Long> findAllIds();
+    
+    @Query("SELECT c.id FROM Course c WHERE c.isActive = true ORDER BY c.id")
+    List<Long> findActiveIds();
+    
+    @Query("SELECT c.id FROM Course c WHERE c.id > :id ORDER BY c.id")
+    List<Long> findIdsGreaterThan(@Param("id") Long id, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Course c ORDER BY c.id")
+    Stream<Course> streamAllOrderedById();
+    
+    // Join-table rows for a batch of courses, without hydrating Student entities
+    @Query("SELECT s.id AS studentId, c.id AS courseId FROM Student s JOIN s.courses c WHERE c.id IN :courseIds")
+    List<EnrollmentLink> findEnrollmentLinksByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+    
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    // Forced version step for an update that changed no column; 0 rows means someone else moved it first
+    @Modifying
+    @Query("UPDATE Course c SET c.version = c.version + 1 WHERE c.id = :id AND c.version = :version")
+    int incrementVersion(@Param("id") Long id, @Param("version") Long version);
+    
+    @Query("SELECT c.id AS id, c.isActive AS isActive FROM Course c WHERE c.id IN :ids")
+    List<CourseActivity> findActivityByIds(@Param("ids") Collection<Long> ids);
+    
+    // Existence plus the active flag, without loading the whole entity
+    interface CourseActivity {
+        
+        Long getId();
+        
+        Boolean getIsActive();
+    }
 }
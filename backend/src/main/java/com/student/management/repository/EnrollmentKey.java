@@ -0,0 +1,50 @@
+package com.student.management.repository;
+
+import java.util.Objects;
+
+// Value type for a (student, course) pair, usable as a map or set key
+public final class EnrollmentKey implements EnrollmentLink {
+    
+    private final Long studentId;
+    private final Long courseId;
+    
+    public EnrollmentKey(Long studentId, Long courseId) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+    
+    @Override
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    @Override
+    public Long getCourseId() {
+        return courseId;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EnrollmentKey)) {
+            return false;
+        }
+        EnrollmentKey other = (EnrollmentKey) o;
+        return Objects.equals(studentId, other.studentId) && Objects.equals(courseId, other.courseId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, courseId);
+    }
+    
+    @Override
+    public String toString() {
+        return "EnrollmentKey{" +
+                "studentId=" + studentId +
+                ", courseId=" + courseId +
+                '}';
+    }
+}
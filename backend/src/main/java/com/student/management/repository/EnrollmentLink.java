@@ -0,0 +1,9 @@
+package com.student.management.repository;
+
+// Projection of a single student_courses row
+public interface EnrollmentLink {
+    
+    Long getStudentId();
+    
+    Long getCourseId();
+}
@@ -0,0 +1,211 @@
+package com.student.management.repository;
+
+import com.student.management.dto.EnrollmentResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// Reads the student_courses join table directly, never hydrating Student or Course entities
+@Repository
+public class EnrollmentRepository {
+    
+    private static final int FETCH_SIZE = 500;
+    
+    private static final String SELECT_ENROLLMENTS =
+            "SELECT sc.student_id, sc.course_id, s.first_name, s.last_name, c.course_name " +
+            "FROM student_courses sc " +
+            "JOIN students s ON s.id = sc.student_id " +
+            "JOIN courses c ON c.id = sc.course_id";
+    
+    private static final String ORDER_BY = " ORDER BY sc.student_id, sc.course_id";
+    
+    private static final String SELECT_LINKS =
+            "SELECT student_id, course_id FROM student_courses " +
+            "WHERE student_id IN (:studentIds) AND course_id IN (:courseIds)";
+    
+    private static final String INSERT_LINK =
+            "INSERT INTO student_courses (student_id, course_id) VALUES (?, ?)";
+    
+    private static final String DELETE_LINK =
+            "DELETE FROM student_courses WHERE student_id = ? AND course_id = ?";
+    
+    // Takes seats only if they fit; the row lock lasts until commit, other courses are unaffected
+    private static final String CLAIM_SEATS =
+            "UPDATE courses SET enrolled_count = enrolled_count + ? " +
+            "WHERE id = ? AND (capacity IS NULL OR enrolled_count + ? <= capacity)";
+    
+    private static final String RELEASE_SEATS =
+            "UPDATE courses SET enrolled_count = enrolled_count - ? WHERE id = ?";
+    
+    private static final String SELECT_FREE_SEATS =
+            "SELECT capacity - enrolled_count FROM courses WHERE id = ?";
+    
+    private static final String SELECT_COURSE_TOTALS =
+            "SELECT id, price, is_active, enrolled_count FROM courses";
+    
+    private static final String COUNT_COURSES_BY_STUDENT =
+            "SELECT student_id, COUNT(*) AS courses FROM student_courses GROUP BY student_id";
+    
+    private static final int BATCH_SIZE = 500;
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public EnrollmentRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+    
+    public List<EnrollmentResponse> findAll(Long studentId, Long courseId) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SELECT_ENROLLMENTS + where(studentId, courseId, params, false) + ORDER_BY;
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> toResponse(rs, now));
+    }
+    
+    // Keyset page ordered by (student_id, course_id), starting strictly after the given pair
+    public List<EnrollmentResponse> findPage(Long studentId, Long courseId,
+                                             long afterStudentId, long afterCourseId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterStudentId", afterStudentId)
+                .addValue("afterCourseId", afterCourseId)
+                .addValue("limit", limit);
+        String sql = SELECT_ENROLLMENTS + where(studentId, courseId, params, true) + ORDER_BY + " LIMIT :limit";
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> toResponse(rs, now));
+    }
+    
+    public void stream(Long studentId, Long courseId, Consumer<EnrollmentResponse> sink) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SELECT_ENROLLMENTS + where(studentId, courseId, params, false) + ORDER_BY;
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> sink.accept(toResponse(rs, now)));
+    }
+    
+    // Which of the candidate pairs already exist; callers bound the size of both ID lists
+    public Set<EnrollmentKey> findExistingLinks(Collection<Long> studentIds, Collection<Long> courseIds) {
+        if (studentIds.isEmpty() || courseIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentIds", studentIds)
+                .addValue("courseIds", courseIds);
+        Set<EnrollmentKey> links = new HashSet<>();
+        jdbcTemplate.query(SELECT_LINKS, params, (RowCallbackHandler) rs ->
+                links.add(new EnrollmentKey(rs.getLong("student_id"), rs.getLong("course_id"))));
+        return links;
+    }
+    
+    public void insertLinks(Collection<EnrollmentKey> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_LINK, links, BATCH_SIZE, (ps, link) -> {
+            ps.setLong(1, link.getStudentId());
+            ps.setLong(2, link.getCourseId());
+        });
+    }
+    
+    // Returns the pairs whose row was actually deleted
+    public List<EnrollmentKey> deleteLinks(Collection<EnrollmentKey> links) {
+        if (links.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<EnrollmentKey> ordered = new ArrayList<>(links);
+        int[][] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(DELETE_LINK, ordered, BATCH_SIZE, (ps, link) -> {
+            ps.setLong(1, link.getStudentId());
+            ps.setLong(2, link.getCourseId());
+        });
+        List<EnrollmentKey> deleted = new ArrayList<>(ordered.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    deleted.add(ordered.get(index));
+                }
+                index++;
+            }
+        }
+        return deleted;
+    }
+    
+    public boolean claimSeats(Long courseId, int seats) {
+        return jdbcTemplate.getJdbcTemplate().update(CLAIM_SEATS, seats, courseId, seats) == 1;
+    }
+    
+    public void releaseSeats(Map<Long, Integer> seatsByCourse) {
+        if (seatsByCourse.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(RELEASE_SEATS, seatsByCourse.entrySet(), BATCH_SIZE, (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+    }
+    
+    // Seats left; null when the course has no capacity limit, 0 when it does not exist
+    public Integer findFreeSeats(Long courseId) {
+        List<Integer> free = jdbcTemplate.getJdbcTemplate().queryForList(SELECT_FREE_SEATS, Integer.class, courseId);
+        return free.isEmpty() ? Integer.valueOf(0) : free.get(0);
+    }
+    
+    // Full scans, only for loading the dashboard aggregates once
+    public List<CourseTotal> findCourseTotals() {
+        return jdbcTemplate.getJdbcTemplate().query(SELECT_COURSE_TOTALS, (rs, rowNum) -> new CourseTotal(
+                rs.getLong("id"), rs.getBigDecimal("price"), rs.getBoolean("is_active"), rs.getInt("enrolled_count")));
+    }
+    
+    public void forEachStudentCourseCount(BiConsumer<Long, Integer> sink) {
+        jdbcTemplate.getJdbcTemplate().query(COUNT_COURSES_BY_STUDENT, (RowCallbackHandler) rs ->
+                sink.accept(rs.getLong("student_id"), rs.getInt("courses")));
+    }
+    
+    private String where(Long studentId, Long courseId, MapSqlParameterSource params, boolean keyset) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (studentId != null) {
+            where.append(" AND sc.student_id = :studentId");
+            params.addValue("studentId", studentId);
+        }
+        if (courseId != null) {
+            where.append(" AND sc.course_id = :courseId");
+            params.addValue("courseId", courseId);
+        }
+        if (keyset) {
+            where.append(" AND (sc.student_id > :afterStudentId")
+                 .append(" OR (sc.student_id = :afterStudentId AND sc.course_id > :afterCourseId))");
+        }
+        return where.toString();
+    }
+    
+    private EnrollmentResponse toResponse(ResultSet rs, LocalDateTime enrolledAt) throws SQLException {
+        return new EnrollmentResponse(
+            null,
+            rs.getLong("student_id"),
+            rs.getLong("course_id"),
+            enrolledAt, // Note: the join table does not record enrollment time
+            rs.getString("first_name") + " " + rs.getString("last_name"),
+            rs.getString("course_name")
+        );
+    }
+    
+    public record CourseTotal(Long id, BigDecimal price, boolean active, int enrolled) {
+    }
+}
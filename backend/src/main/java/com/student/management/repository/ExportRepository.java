@@ -0,0 +1,72 @@
+package com.student.management.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+// Full-table reads for exports: plain forward-only, read-only cursors fetched FETCH_SIZE rows at a
+// time and handed to the extractor as they arrive. Column aliases are the exported field names.
+// Run inside a transaction: some drivers (PostgreSQL) only honor the fetch size with autocommit off.
+@Repository
+public class ExportRepository {
+    
+    private static final int FETCH_SIZE = 1000;
+    
+    private static final String SELECT_STUDENTS =
+            "SELECT id AS \"id\", first_name AS \"firstName\", last_name AS \"lastName\", email AS \"email\", " +
+            "date_of_birth AS \"dateOfBirth\", phone_number AS \"phoneNumber\", " +
+            "created_at AS \"createdAt\", updated_at AS \"updatedAt\", version AS \"version\" " +
+            "FROM students ORDER BY id";
+    
+    private static final String SELECT_COURSES =
+            "SELECT id AS \"id\", course_code AS \"courseCode\", course_name AS \"courseName\", " +
+            "description AS \"description\", credits AS \"credits\", price AS \"price\", " +
+            "start_date AS \"startDate\", end_date AS \"endDate\", is_active AS \"isActive\", " +
+            "capacity AS \"capacity\", enrolled_count AS \"enrolledCount\", " +
+            "created_at AS \"createdAt\", updated_at AS \"updatedAt\", version AS \"version\" " +
+            "FROM courses ORDER BY id";
+    
+    private static final String SELECT_ENROLLMENTS =
+            "SELECT sc.student_id AS \"studentId\", sc.course_id AS \"courseId\", " +
+            "s.first_name || ' ' || s.last_name AS \"studentName\", c.course_name AS \"courseName\" " +
+            "FROM student_courses sc " +
+            "JOIN students s ON s.id = sc.student_id " +
+            "JOIN courses c ON c.id = sc.course_id";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public ExportRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+    
+    public <T> T students(ResultSetExtractor<T> extractor) {
+        return jdbcTemplate.getJdbcTemplate().query(SELECT_STUDENTS, extractor);
+    }
+    
+    public <T> T courses(ResultSetExtractor<T> extractor) {
+        return jdbcTemplate.getJdbcTemplate().query(SELECT_COURSES, extractor);
+    }
+    
+    public <T> T enrollments(Long studentId, Long courseId, ResultSetExtractor<T> extractor) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(SELECT_ENROLLMENTS).append(" WHERE 1 = 1");
+        if (studentId != null) {
+            sql.append(" AND sc.student_id = :studentId");
+            params.addValue("studentId", studentId);
+        }
+        if (courseId != null) {
+            sql.append(" AND sc.course_id = :courseId");
+            params.addValue("courseId", courseId);
+        }
+        sql.append(" ORDER BY sc.student_id, sc.course_id");
+        return jdbcTemplate.query(sql.toString(), params, extractor);
+    }
+}
@@ -1,13 +1,20 @@
 package com.student.management.repository;
 
 import com.student.management.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -17,10 +24,44 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
         String firstName, String lastName);
     
+    // Bounded prefix match used by type-ahead while the search index is unavailable
+    List<Student> findByFirstNameStartingWithIgnoreCaseOrLastNameStartingWithIgnoreCaseOrEmailStartingWithIgnoreCase(
+        String firstName, String lastName, String email, Pageable pageable);
+    
     @Query("SELECT s FROM Student s JOIN s.courses c WHERE c.id = :courseId")
     List<Student> findStudentsByCourseId(@Param("courseId") Long courseId);
     
     boolean existsByEmail(String email);
     
     boolean existsByEmailAndIdNot(String email, Long id);
+    
+    // Keyset pagination: rows strictly after the given id, in id order
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // Pre-loaded by the CSV import so uniqueness is checked in memory, not per row
+    @Query("SELECT s.email FROM Student s")
+    List<String> findAllEmails();
+    
+    // ID-only listings read the key column alone, never the rows
+    @Query("SELECT s.id FROM Student s ORDER BY s.id")
+    List<Long> findAllIds();
+    
+    @Query("SELECT s.id FROM Student s WHERE s.id > :id ORDER BY s.id")
+    List<Long> findIdsGreaterThan(@Param("id") Long id, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAllOrderedById();
+    
+    // Join-table rows for a batch of students, without hydrating Course entities
+    @Query("SELECT s.id AS studentId, c.id AS courseId FROM Student s JOIN s.courses c WHERE s.id IN :studentIds")
+    List<EnrollmentLink> findEnrollmentLinksByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+    
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    // Forced version step for an update that changed no column; 0 rows means someone else moved it first
+    @Modifying
+    @Query("UPDATE Student s SET s.version = s.version + 1 WHERE s.id = :id AND s.version = :version")
+    int incrementVersion(@Param("id") Long id, @Param("version") Long version);
 }
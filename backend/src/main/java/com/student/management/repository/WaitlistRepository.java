@@ -0,0 +1,51 @@
+package com.student.management.repository;
+
+import com.student.management.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    // Head of the queue: one index probe on (course_id, id), locked until the promotion commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<WaitlistEntry> findFirstByCourseIdOrderByIdAsc(Long courseId);
+    
+    boolean existsByCourseIdAndStudentId(Long courseId, Long studentId);
+    
+    // Queue order with student names, without loading Student entities
+    @Query("SELECT w.studentId AS studentId, s.firstName AS firstName, s.lastName AS lastName, " +
+           "w.requestedAt AS requestedAt " +
+           "FROM WaitlistEntry w, Student s WHERE s.id = w.studentId AND w.courseId = :courseId ORDER BY w.id")
+    List<WaitlistView> findViewByCourseId(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+    
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+    
+    // Entries made moot by an enrollment that went through another path
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.courseId = :courseId AND w.studentId IN :studentIds")
+    int deleteByCourseIdAndStudentIds(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+    
+    interface WaitlistView {
+        Long getStudentId();
+        String getFirstName();
+        String getLastName();
+        LocalDateTime getRequestedAt();
+    }
+}
@@ -0,0 +1,68 @@
+package com.student.management.search;
+
+import com.student.management.entity.Course;
+import com.student.management.repository.CourseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Component
+public class CourseSearchIndex extends EntitySearchIndex<Course> {
+    
+    private static final int CODE_WEIGHT = 4;
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public CourseSearchIndex(@Value("${app.search.max-candidates:20000}") int maxCandidates) {
+        super(maxCandidates);
+    }
+    
+    // Runs after the CommandLineRunners, so seeded data is included; off the startup
+    // thread, searches fall back to SQL until the index is ready
+    @EventListener(ApplicationReadyEvent.class)
+    @Async
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!isEnabled()) {
+            return;
+        }
+        try (Stream<Course> courses = courseRepository.streamAllOrderedById()) {
+            load(courses, entityManager::detach);
+        }
+    }
+    
+    @Override
+    protected Long idOf(Course course) {
+        return course.getId();
+    }
+    
+    @Override
+    protected Map<String, Integer> tokensOf(Course course) {
+        Map<String, Integer> tokens = new HashMap<>();
+        TokenIndex.addField(tokens, course.getCourseCode(), CODE_WEIGHT);
+        TokenIndex.addField(tokens, course.getCourseName(), NAME_WEIGHT);
+        TokenIndex.addField(tokens, course.getDescription(), DESCRIPTION_WEIGHT);
+        return tokens;
+    }
+    
+    @Override
+    public String labelOf(Course course) {
+        return course.getCourseCode() + " - " + course.getCourseName();
+    }
+}
@@ -0,0 +1,157 @@
+package com.student.management.search;
+
+import com.student.management.dto.Suggestion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Keeps a TokenIndex in sync with one entity type; writes apply once their transaction commits
+public abstract class EntitySearchIndex<T> {
+    
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 20;
+    
+    private final int maxCandidates;
+    // Replaced whole by a rebuild, so searches never see a half-loaded index
+    private volatile TokenIndex index;
+    // Display labels so suggestions never touch the database
+    private volatile Map<Long, String> labels = new ConcurrentHashMap<>();
+    // Writes committed while a rebuild runs, replayed onto the new index before it goes live
+    private List<BiConsumer<TokenIndex, Map<Long, String>>> pendingWrites;
+    private volatile boolean ready;
+    
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.search.suggest-candidates:1000}")
+    private int suggestCandidates;
+    
+    protected EntitySearchIndex(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+        this.index = new TokenIndex(maxCandidates);
+    }
+    
+    protected abstract Long idOf(T entity);
+    
+    protected abstract Map<String, Integer> tokensOf(T entity);
+    
+    // Display name returned by type-ahead
+    public abstract String labelOf(T entity);
+    
+    // Until the initial build finishes, callers fall back to the database
+    public boolean isReady() {
+        return enabled && ready;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public int size() {
+        return index.size();
+    }
+    
+    public SearchHits search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+    
+    // Type-ahead lists stay short; clamp into [1, MAX_SUGGEST_LIMIT]
+    public static int resolveSuggestLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_SUGGEST_LIMIT;
+        }
+        return Math.min(requested, MAX_SUGGEST_LIMIT);
+    }
+    
+    public List<Suggestion> suggest(String prefix, int limit) {
+        SearchHits hits = index.search(prefix, 0, limit, suggestCandidates);
+        List<Suggestion> suggestions = new ArrayList<>(hits.getIds().size());
+        for (Long id : hits.getIds()) {
+            String label = labels.get(id);
+            if (label != null) {
+                suggestions.add(new Suggestion(id, label));
+            }
+        }
+        return suggestions;
+    }
+    
+    public void put(T entity) {
+        if (!enabled) {
+            return;
+        }
+        // Capture the state now; the entity may change or be detached before commit
+        Long id = idOf(entity);
+        Map<String, Integer> tokens = tokensOf(entity);
+        String label = labelOf(entity);
+        afterCommit((targetIndex, targetLabels) -> {
+            targetLabels.put(id, label);
+            targetIndex.put(id, tokens);
+        });
+    }
+    
+    public void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit((targetIndex, targetLabels) -> {
+            targetIndex.remove(id);
+            targetLabels.remove(id);
+        });
+    }
+    
+    // Builds a fresh index while the old one keeps serving. A write that commits during the
+    // build may be older or newer than the row the build read, so every such write is replayed
+    // in commit order on top of the build; the last write for a row wins either way.
+    protected void load(Stream<T> entities, Consumer<T> afterIndexed) {
+        TokenIndex freshIndex = new TokenIndex(maxCandidates);
+        Map<Long, String> freshLabels = new ConcurrentHashMap<>();
+        synchronized (this) {
+            pendingWrites = new ArrayList<>();
+        }
+        try {
+            entities.forEach(entity -> {
+                freshLabels.put(idOf(entity), labelOf(entity));
+                freshIndex.put(idOf(entity), tokensOf(entity));
+                afterIndexed.accept(entity);
+            });
+            synchronized (this) {
+                pendingWrites.forEach(write -> write.accept(freshIndex, freshLabels));
+                index = freshIndex;
+                labels = freshLabels;
+            }
+            ready = true;
+        } finally {
+            synchronized (this) {
+                pendingWrites = null;
+            }
+        }
+    }
+    
+    private void afterCommit(BiConsumer<TokenIndex, Map<Long, String>> write) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(write);
+                }
+            });
+        } else {
+            apply(write);
+        }
+    }
+    
+    private synchronized void apply(BiConsumer<TokenIndex, Map<Long, String>> write) {
+        write.accept(index, labels);
+        if (pendingWrites != null) {
+            pendingWrites.add(write);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.student.management.search;
+
+import java.util.List;
+
+// One ranked slice of search results plus the total number of matches
+public class SearchHits {
+    
+    private final List<Long> ids;
+    private final int total;
+    
+    public SearchHits(List<Long> ids, int total) {
+        this.ids = ids;
+        this.total = total;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public int getTotal() {
+        return total;
+    }
+}
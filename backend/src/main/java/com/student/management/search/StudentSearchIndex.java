@@ -0,0 +1,67 @@
+package com.student.management.search;
+
+import com.student.management.entity.Student;
+import com.student.management.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Component
+public class StudentSearchIndex extends EntitySearchIndex<Student> {
+    
+    private static final int NAME_WEIGHT = 3;
+    private static final int EMAIL_WEIGHT = 1;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public StudentSearchIndex(@Value("${app.search.max-candidates:20000}") int maxCandidates) {
+        super(maxCandidates);
+    }
+    
+    // Runs after the CommandLineRunners, so seeded data is included; off the startup
+    // thread, searches fall back to SQL until the index is ready
+    @EventListener(ApplicationReadyEvent.class)
+    @Async
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!isEnabled()) {
+            return;
+        }
+        try (Stream<Student> students = studentRepository.streamAllOrderedById()) {
+            load(students, entityManager::detach);
+        }
+    }
+    
+    @Override
+    protected Long idOf(Student student) {
+        return student.getId();
+    }
+    
+    @Override
+    protected Map<String, Integer> tokensOf(Student student) {
+        Map<String, Integer> tokens = new HashMap<>();
+        TokenIndex.addField(tokens, student.getFirstName(), NAME_WEIGHT);
+        TokenIndex.addField(tokens, student.getLastName(), NAME_WEIGHT);
+        TokenIndex.addField(tokens, student.getEmail(), EMAIL_WEIGHT);
+        return tokens;
+    }
+    
+    @Override
+    public String labelOf(Student student) {
+        return student.getFirstName() + " " + student.getLastName() + " <" + student.getEmail() + ">";
+    }
+}
@@ -0,0 +1,288 @@
+package com.student.management.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from lower-cased tokens to document IDs. Tokens are
+ * kept sorted so a query term matches every indexed token it is a prefix of;
+ * exact token matches score double. Multi-term queries are AND-ed, evaluating
+ * the longest (most selective) term first to prune the candidate set. Very
+ * broad prefixes stop collecting after {@code maxCandidates} documents so a
+ * one-letter query cannot scan the whole index; postings are grouped by weight,
+ * so the documents kept are the best-scoring ones rather than whichever a hash
+ * map yields first. Later terms switch to checking each candidate's own
+ * tokens once walking their postings would cost more.
+ */
+public class TokenIndex {
+    
+    private static final Comparator<Map.Entry<Long, Integer>> RANKING =
+            Map.Entry.<Long, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey());
+    
+    private static final int DOCUMENT_SCAN_FACTOR = 2;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final int maxCandidates;
+    
+    public TokenIndex(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+    
+    // Replaces whatever was indexed for the document before
+    public void put(Long id, Map<String, Integer> tokenWeights) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            documents.put(id, tokenWeights);
+            tokenWeights.forEach((token, weight) ->
+                    postings.computeIfAbsent(token, t -> new Postings()).put(id, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public SearchHits search(String query, int offset, int limit) {
+        return search(query, offset, limit, maxCandidates);
+    }
+    
+    // Type-ahead passes a much smaller cap to bound latency per keystroke
+    public SearchHits search(String query, int offset, int limit, int candidateCap) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchHits(List.of(), 0);
+        }
+        terms.sort(Comparator.comparingInt(String::length).reversed());
+        
+        Map<Long, Integer> scores;
+        lock.readLock().lock();
+        try {
+            scores = null;
+            for (String term : terms) {
+                scores = scoreTerm(term, scores, candidateCap);
+                if (scores.isEmpty()) {
+                    return new SearchHits(List.of(), 0);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        return new SearchHits(topRanked(scores, offset, limit), scores.size());
+    }
+    
+    // Lower-cased runs of letters and digits
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+    
+    // Adds the tokens of a field, keeping the highest weight when a token appears in several fields
+    public static void addField(Map<String, Integer> tokenWeights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            tokenWeights.merge(token, weight, Math::max);
+        }
+    }
+    
+    private Map<Long, Integer> scoreTerm(String term, Map<Long, Integer> candidates, int candidateCap) {
+        NavigableMap<String, Postings> matches = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+        if (candidates == null) {
+            return scoreFirstTerm(term, matches, candidateCap);
+        }
+        Map<Long, Integer> termScores = new HashMap<>();
+        // Past this much posting work it is cheaper to check each candidate's own tokens
+        long budget = (long) candidates.size() * DOCUMENT_SCAN_FACTOR;
+        long cost = 0;
+        for (Map.Entry<String, Postings> match : matches.entrySet()) {
+            int multiplier = match.getKey().length() == term.length() ? 2 : 1;
+            Map<Long, Integer> docs = match.getValue().weights;
+            
+            cost += Math.min(candidates.size(), docs.size());
+            if (cost > budget) {
+                return scoreCandidates(term, candidates);
+            }
+            
+            // Intersect from the smaller side
+            if (candidates.size() < docs.size()) {
+                for (Long id : candidates.keySet()) {
+                    Integer weight = docs.get(id);
+                    if (weight != null) {
+                        termScores.merge(id, weight * multiplier, Math::max);
+                    }
+                }
+                continue;
+            }
+            for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                if (candidates.containsKey(posting.getKey())) {
+                    termScores.merge(posting.getKey(), posting.getValue() * multiplier, Math::max);
+                }
+            }
+        }
+        termScores.replaceAll((id, score) -> score + candidates.get(id));
+        return termScores;
+    }
+    
+    // The first term has no candidates to intersect with. Its weight groups are walked from the
+    // highest score down, so the first time a document shows up is its best score and the cap
+    // drops only the weakest matches; ties at the cut are kept in no particular order.
+    private Map<Long, Integer> scoreFirstTerm(String term, NavigableMap<String, Postings> matches, int candidateCap) {
+        List<ScoredGroup> groups = new ArrayList<>();
+        for (Map.Entry<String, Postings> match : matches.entrySet()) {
+            int multiplier = match.getKey().length() == term.length() ? 2 : 1;
+            match.getValue().byWeight.forEach((weight, ids) -> groups.add(new ScoredGroup(weight * multiplier, ids)));
+        }
+        groups.sort(Comparator.comparingInt(ScoredGroup::score).reversed());
+        
+        Map<Long, Integer> termScores = new HashMap<>();
+        for (ScoredGroup group : groups) {
+            for (Long id : group.ids()) {
+                if (termScores.size() >= candidateCap) {
+                    return termScores;
+                }
+                termScores.putIfAbsent(id, group.score());
+            }
+        }
+        return termScores;
+    }
+    
+    // Prefix match against each candidate's indexed tokens; cost is bounded by the candidate set
+    private Map<Long, Integer> scoreCandidates(String term, Map<Long, Integer> candidates) {
+        Map<Long, Integer> termScores = new HashMap<>();
+        for (Map.Entry<Long, Integer> candidate : candidates.entrySet()) {
+            int best = 0;
+            for (Map.Entry<String, Integer> token : documents.get(candidate.getKey()).entrySet()) {
+                if (token.getKey().startsWith(term)) {
+                    int multiplier = token.getKey().length() == term.length() ? 2 : 1;
+                    best = Math.max(best, token.getValue() * multiplier);
+                }
+            }
+            if (best > 0) {
+                termScores.put(candidate.getKey(), best + candidate.getValue());
+            }
+        }
+        return termScores;
+    }
+    
+    private List<Long> topRanked(Map<Long, Integer> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        if (offset >= scores.size()) {
+            return List.of();
+        }
+        // Bounded heap keeps the best `wanted` hits without sorting every match
+        PriorityQueue<Map.Entry<Long, Integer>> heap = new PriorityQueue<>(wanted + 1, RANKING.reversed());
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > wanted) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(heap);
+        ranked.sort(RANKING);
+        List<Long> ids = new ArrayList<>(limit);
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+    
+    private void removeInternal(Long id) {
+        Map<String, Integer> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.keySet()) {
+            Postings docs = postings.get(token);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+    
+    private record ScoredGroup(int score, Set<Long> ids) {
+    }
+    
+    // Documents holding one token: weight by document for lookups, and the same documents
+    // grouped by weight, highest first, for capped scans
+    private static final class Postings {
+        
+        private final Map<Long, Integer> weights = new HashMap<>();
+        private final NavigableMap<Integer, Set<Long>> byWeight = new TreeMap<>(Comparator.reverseOrder());
+        
+        void put(Long id, int weight) {
+            Integer previous = weights.put(id, weight);
+            if (previous != null) {
+                removeFromGroup(id, previous);
+            }
+            byWeight.computeIfAbsent(weight, w -> new HashSet<>()).add(id);
+        }
+        
+        void remove(Long id) {
+            Integer previous = weights.remove(id);
+            if (previous != null) {
+                removeFromGroup(id, previous);
+            }
+        }
+        
+        boolean isEmpty() {
+            return weights.isEmpty();
+        }
+        
+        private void removeFromGroup(Long id, int weight) {
+            Set<Long> group = byWeight.get(weight);
+            group.remove(id);
+            if (group.isEmpty()) {
+                byWeight.remove(weight);
+            }
+        }
+    }
+}
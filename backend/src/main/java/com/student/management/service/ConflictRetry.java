@@ -0,0 +1,76 @@
+package com.student.management.service;
+
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Re-runs a whole transactional service call that lost a race on a hot course: a stale
+// version, a lock timeout or deadlock, or a concurrent insert of the same join row. Each
+// attempt re-reads and re-validates, so the last one either succeeds or fails with the
+// regular validation error. Must be called outside a transaction so every attempt gets
+// a fresh one; inside a transaction the call runs once.
+@Component
+public class ConflictRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflictRetry.class);
+
+    @Value("${app.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.retry.backoff:20ms}")
+    private Duration backoff;
+
+    public <T> T run(Supplier<T> call) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return call.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (!isConflict(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Conflict on attempt {} of {}, retrying", attempt, maxAttempts, e);
+                pause(attempt);
+            }
+        }
+    }
+
+    public void run(Runnable call) {
+        run(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    static boolean isConflict(Throwable e) {
+        return e instanceof ConcurrencyFailureException
+                || e instanceof OptimisticLockException
+                || e instanceof PessimisticLockException
+                || e instanceof LockTimeoutException
+                || e instanceof DuplicateKeyException;
+    }
+
+    // Linear backoff with jitter so the losers of one race do not collide again
+    private void pause(int attempt) {
+        long millis = backoff.toMillis() * attempt;
+        try {
+            Thread.sleep(millis + ThreadLocalRandom.current().nextLong(millis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
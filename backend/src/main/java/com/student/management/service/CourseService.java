@@ -1,18 +1,38 @@
 package com.student.management.service;
 
+import com.student.management.config.CacheConfig;
+import com.student.management.config.PaginationSettings;
 import com.student.management.dto.CourseDto;
+import com.student.management.dto.PageResponse;
+import com.student.management.dto.Suggestion;
 import com.student.management.entity.Course;
-import com.student.management.entity.Student;
+import com.student.management.exception.PreconditionFailedException;
 import com.student.management.exception.ResourceNotFoundException;
 import com.student.management.exception.ValidationException;
 import com.student.management.repository.CourseRepository;
+import com.student.management.repository.EnrollmentKey;
 import com.student.management.repository.StudentRepository;
+import com.student.management.repository.WaitlistRepository;
+import com.student.management.search.EntitySearchIndex;
+import com.student.management.search.CourseSearchIndex;
+import com.student.management.search.SearchHits;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,18 +45,105 @@ public class CourseService {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private EnrollmentWriter enrollmentWriter;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EntityCacheInvalidator cacheInvalidator;
+    
+    @Autowired
+    private ModificationCounters modificationCounters;
+    
+    @Autowired
+    private PaginationSettings paginationSettings;
+    
+    @Autowired
+    private CourseSearchIndex searchIndex;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private static final int STREAM_BATCH_SIZE = 500;
+    
     public List<CourseDto> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return getAllCourses(true);
+    }
+    
+    // Without student IDs the batched link query is skipped altogether
+    public List<CourseDto> getAllCourses(boolean withStudentIds) {
+        return convertToDtos(courseRepository.findAll(), withStudentIds);
+    }
+    
+    public List<Long> getAllCourseIds() {
+        return courseRepository.findAllIds();
+    }
+    
+    public PageResponse<CourseDto> getCoursesPage(String cursor, Integer size) {
+        return getCoursesPage(cursor, size, true);
+    }
+    
+    @Transactional(readOnly = true)
+    public PageResponse<CourseDto> getCoursesPage(String cursor, Integer size, boolean withStudentIds) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor, 1)[0];
+        
+        // Fetch one extra row to learn whether another page follows
+        List<Course> rows = courseRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Course> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1).getId()) : null;
+        
+        return new PageResponse<>(convertToDtos(page, withStudentIds), nextCursor);
+    }
+    
+    @Transactional(readOnly = true)
+    public PageResponse<Long> getCourseIdsPage(String cursor, Integer size) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor, 1)[0];
+        
+        List<Long> rows = courseRepository.findIdsGreaterThan(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Long> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1)) : null;
+        
+        return new PageResponse<>(page, nextCursor);
+    }
+    
+    // Keyset batches instead of one open cursor: each batch is fully read before its enrollment
+    // links are looked up, so no query runs while another result set is still being consumed
+    @Transactional(readOnly = true)
+    public void streamCourses(Consumer<CourseDto> sink) {
+        long afterId = 0L;
+        List<Course> batch;
+        do {
+            batch = courseRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, STREAM_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+            convertToDtos(batch).forEach(sink);
+            // Keep the persistence context from growing with the result set
+            batch.forEach(entityManager::detach);
+        } while (batch.size() == STREAM_BATCH_SIZE);
     }
     
     public List<CourseDto> getActiveCourses() {
-        return courseRepository.findByIsActiveTrue().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return getActiveCourses(true);
+    }
+    
+    public List<CourseDto> getActiveCourses(boolean withStudentIds) {
+        return convertToDtos(courseRepository.findByIsActiveTrue(), withStudentIds);
     }
     
+    public List<Long> getActiveCourseIds() {
+        return courseRepository.findActiveIds();
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#id")
+    @Transactional(readOnly = true)
     public CourseDto getCourseById(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
@@ -51,18 +158,30 @@ public class CourseService {
         
         Course course = convertToEntity(courseDto);
         Course savedCourse = courseRepository.save(course);
+        searchIndex.put(savedCourse);
         
         // Handle student enrollments if provided
         if (courseDto.getStudentIds() != null && !courseDto.getStudentIds().isEmpty()) {
             enrollStudentsInCourse(savedCourse.getId(), courseDto.getStudentIds());
+            // Seat counts were changed with SQL; reload them for the response
+            entityManager.refresh(savedCourse);
         }
         
         return convertToDto(savedCourse);
     }
     
     public CourseDto updateCourse(Long id, CourseDto courseDto) {
+        return updateCourse(id, courseDto, null);
+    }
+    
+    // expectedVersion comes from If-Match; null means last write wins
+    public CourseDto updateCourse(Long id, CourseDto courseDto, Long expectedVersion) {
         Course existingCourse = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+        Long version = existingCourse.getVersion();
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new PreconditionFailedException("Course " + id + " was modified; current version is " + version);
+        }
         
         // Validate course code uniqueness (excluding current course)
         if (!existingCourse.getCourseCode().equals(courseDto.getCourseCode()) &&
@@ -70,6 +189,12 @@ public class CourseService {
             throw new ValidationException("Course code already exists: " + courseDto.getCourseCode());
         }
         
+        // Capacity cannot drop below the seats already taken
+        if (courseDto.getCapacity() != null && courseDto.getCapacity() < existingCourse.getEnrolledCount()) {
+            throw new ValidationException("Capacity cannot be lower than the " + existingCourse.getEnrolledCount()
+                    + " students already enrolled");
+        }
+        
         // Update fields
         existingCourse.setCourseCode(courseDto.getCourseCode());
         existingCourse.setCourseName(courseDto.getCourseName());
@@ -79,14 +204,27 @@ public class CourseService {
         existingCourse.setStartDate(courseDto.getStartDate());
         existingCourse.setEndDate(courseDto.getEndDate());
         existingCourse.setIsActive(courseDto.getIsActive());
+        boolean capacityGrew = existingCourse.getCapacity() != null
+                && (courseDto.getCapacity() == null || courseDto.getCapacity() > existingCourse.getCapacity());
+        existingCourse.setCapacity(courseDto.getCapacity());
         
         Course updatedCourse = courseRepository.save(existingCourse);
+        bumpVersion(updatedCourse, version);
+        searchIndex.put(updatedCourse);
         
         // Handle student enrollments if provided
         if (courseDto.getStudentIds() != null) {
             updateCourseStudents(updatedCourse, courseDto.getStudentIds());
         }
+        if (capacityGrew) {
+            enrollmentWriter.fillFromWaitlist(id);
+        }
+        if (courseDto.getStudentIds() != null || capacityGrew) {
+            // Seat counts were changed with SQL; reload them for the response
+            entityManager.refresh(updatedCourse);
+        }
         
+        cacheInvalidator.evictCourse(id);
         return convertToDto(updatedCourse);
     }
     
@@ -94,49 +232,181 @@ public class CourseService {
         if (!courseRepository.existsById(id)) {
             throw new ResourceNotFoundException("Course not found with id: " + id);
         }
+        
+        // Empty the waitlist first so unlinking below does not promote anyone into this course
+        waitlistRepository.deleteByCourseId(id);
+        
+        // Course is the inverse side of the mapping, so its join rows are removed explicitly
+        Set<Long> studentIds = EnrollmentLinks.studentIdsByCourse(
+                List.of(id), courseRepository::findEnrollmentLinksByCourseIds)
+                .getOrDefault(id, new HashSet<>());
+        enrollmentWriter.unlink(studentIds.stream()
+                .map(studentId -> new EnrollmentKey(studentId, id))
+                .collect(Collectors.toList()));
+        
         courseRepository.deleteById(id);
+        searchIndex.remove(id);
+        cacheInvalidator.evictCourse(id);
     }
     
     public List<CourseDto> searchCourses(String searchTerm) {
+        return searchCourses(searchTerm, true);
+    }
+    
+    public List<CourseDto> searchCourses(String searchTerm, boolean withStudentIds) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return getAllCourses();
+            return getAllCourses(withStudentIds);
         }
         
         String trimmedTerm = searchTerm.trim();
-        return courseRepository.findByCourseNameContainingIgnoreCase(trimmedTerm)
-                .stream()
-                .map(this::convertToDto)
+        if (!searchIndex.isReady()) {
+            // Index still building (or disabled): fall back to the substring scan
+            return convertToDtos(courseRepository.findByCourseNameContainingIgnoreCase(trimmedTerm), withStudentIds);
+        }
+        
+        // Only the best max-page-size hits; the paged search walks past them
+        SearchHits hits = searchIndex.search(trimmedTerm, 0, paginationSettings.getMaxPageSize());
+        return convertToDtos(findInRankOrder(hits.getIds()), withStudentIds);
+    }
+    
+    // Ranked IDs straight from the index, without touching the database
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Long> searchCourseIds(String searchTerm) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return getAllCourseIds();
+        }
+        
+        String trimmedTerm = searchTerm.trim();
+        if (!searchIndex.isReady()) {
+            return courseRepository.findByCourseNameContainingIgnoreCase(trimmedTerm).stream()
+                    .map(Course::getId)
+                    .collect(Collectors.toList());
+        }
+        
+        // Capped like searchCourses; the paged search walks past the cap
+        return searchIndex.search(trimmedTerm, 0, paginationSettings.getMaxPageSize()).getIds();
+    }
+    
+    public PageResponse<CourseDto> searchCoursesPage(String searchTerm, String cursor, Integer size) {
+        return searchCoursesPage(searchTerm, cursor, size, true);
+    }
+    
+    @Transactional(readOnly = true)
+    public PageResponse<CourseDto> searchCoursesPage(String searchTerm, String cursor, Integer size,
+                                                     boolean withStudentIds) {
+        PageResponse<Long> ids = searchCourseIdsPage(searchTerm, cursor, size);
+        return new PageResponse<>(convertToDtos(findInRankOrder(ids.getItems()), withStudentIds), ids.getNextCursor());
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageResponse<Long> searchCourseIdsPage(String searchTerm, String cursor, Integer size) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new ValidationException("Search term is required");
+        }
+        if (!searchIndex.isReady()) {
+            throw new ValidationException("Search index is not available yet");
+        }
+        int pageSize = paginationSettings.resolvePageSize(size);
+        // Ranked results have no stable key, so the cursor carries the offset
+        long offset = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor, 1)[0];
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new ValidationException("Invalid cursor: " + cursor);
+        }
+        
+        SearchHits hits = searchIndex.search(searchTerm.trim(), (int) offset, pageSize);
+        long next = offset + hits.getIds().size();
+        String nextCursor = next < hits.getTotal() ? KeysetCursor.encode(next) : null;
+        
+        return new PageResponse<>(hits.getIds(), nextCursor);
+    }
+    
+    // No transaction on the indexed path: suggestions are answered from memory
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Suggestion> suggestCourses(String searchTerm, Integer limit) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return List.of();
+        }
+        int suggestLimit = EntitySearchIndex.resolveSuggestLimit(limit);
+        String trimmedTerm = searchTerm.trim();
+        if (searchIndex.isReady()) {
+            return searchIndex.suggest(trimmedTerm, suggestLimit);
+        }
+        
+        return courseRepository.findByCourseCodeStartingWithIgnoreCaseOrCourseNameStartingWithIgnoreCase(
+                trimmedTerm, trimmedTerm, PageRequest.of(0, suggestLimit)).stream()
+                .map(course -> new Suggestion(course.getId(), searchIndex.labelOf(course)))
+                .collect(Collectors.toList());
+    }
+    
+    private List<Course> findInRankOrder(List<Long> ids) {
+        Map<Long, Course> byId = courseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Course::getId, course -> course));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
     
     public void enrollStudentsInCourse(Long courseId, Set<Long> studentIds) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
         
+        // Validate all students in one batched lookup
+        Set<Long> existingStudentIds = EnrollmentLinks.findExisting(studentIds, studentRepository::findExistingIds);
         for (Long studentId : studentIds) {
-            Student student = studentRepository.findById(studentId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-            course.addStudent(student);
+            if (!existingStudentIds.contains(studentId)) {
+                throw new ResourceNotFoundException("Student not found with id: " + studentId);
+            }
         }
         
-        courseRepository.save(course);
+        enrollmentWriter.enroll(studentIds.stream()
+                .map(studentId -> new EnrollmentKey(studentId, courseId))
+                .collect(Collectors.toList()));
+    }
+    
+    // Same rule as for students: one version step per update, also when only enrollments change
+    private void bumpVersion(Course course, Long versionBefore) {
+        entityManager.flush();
+        if (Objects.equals(course.getVersion(), versionBefore)) {
+            if (courseRepository.incrementVersion(course.getId(), versionBefore) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Course.class, course.getId());
+            }
+            entityManager.refresh(course);
+            // The version UPDATE raises no entity event, but listed DTOs carry the version
+            modificationCounters.touch(ModificationCounters.Table.COURSES);
+        }
     }
     
     private void updateCourseStudents(Course course, Set<Long> newStudentIds) {
-        // Remove all current enrollments
-        course.getStudents().clear();
-        
-        // Add new enrollments
-        if (newStudentIds != null && !newStudentIds.isEmpty()) {
-            for (Long studentId : newStudentIds) {
-                Student student = studentRepository.findById(studentId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-                course.addStudent(student);
+        Long courseId = course.getId();
+        Set<Long> currentStudentIds = EnrollmentLinks.studentIdsByCourse(
+                List.of(courseId), courseRepository::findEnrollmentLinksByCourseIds)
+                .getOrDefault(courseId, new HashSet<>());
+        
+        // Only touch the join rows that actually change
+        Set<Long> addedStudentIds = new HashSet<>(newStudentIds);
+        addedStudentIds.removeAll(currentStudentIds);
+        Set<Long> removedStudentIds = new HashSet<>(currentStudentIds);
+        removedStudentIds.removeAll(newStudentIds);
+        
+        Set<Long> existingStudentIds = EnrollmentLinks.findExisting(addedStudentIds, studentRepository::findExistingIds);
+        for (Long studentId : addedStudentIds) {
+            if (!existingStudentIds.contains(studentId)) {
+                throw new ResourceNotFoundException("Student not found with id: " + studentId);
             }
         }
+        
+        enrollmentWriter.unlink(removedStudentIds.stream()
+                .map(studentId -> new EnrollmentKey(studentId, courseId))
+                .collect(Collectors.toList()));
+        enrollmentWriter.link(addedStudentIds.stream()
+                .map(studentId -> new EnrollmentKey(studentId, courseId))
+                .collect(Collectors.toList()));
     }
     
-    private Course convertToEntity(CourseDto dto) {
+    // Package-private for DtoMappingBenchmark
+    Course convertToEntity(CourseDto dto) {
         Course course = new Course();
         course.setId(dto.getId());
         course.setCourseCode(dto.getCourseCode());
@@ -147,10 +417,39 @@ public class CourseService {
         course.setStartDate(dto.getStartDate());
         course.setEndDate(dto.getEndDate());
         course.setIsActive(dto.getIsActive());
+        course.setCapacity(dto.getCapacity());
         return course;
     }
     
     private CourseDto convertToDto(Course course) {
+        return convertToDtos(List.of(course)).get(0);
+    }
+    
+    // One query for the student IDs of the whole batch instead of one lazy load per course
+    private List<CourseDto> convertToDtos(List<Course> courses) {
+        return convertToDtos(courses, true);
+    }
+    
+    private List<CourseDto> convertToDtos(List<Course> courses, boolean withStudentIds) {
+        if (!withStudentIds) {
+            return courses.stream()
+                    .map(course -> convertToDto(course, null))
+                    .collect(Collectors.toList());
+        }
+        List<Long> courseIds = courses.stream()
+                .map(Course::getId)
+                .collect(Collectors.toList());
+        Map<Long, Set<Long>> studentIdsByCourse = EnrollmentLinks.studentIdsByCourse(
+                courseIds, courseRepository::findEnrollmentLinksByCourseIds);
+        
+        List<CourseDto> dtos = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            dtos.add(convertToDto(course, studentIdsByCourse.getOrDefault(course.getId(), new HashSet<>())));
+        }
+        return dtos;
+    }
+    
+    CourseDto convertToDto(Course course, Set<Long> studentIds) {
         CourseDto dto = new CourseDto();
         dto.setId(course.getId());
         dto.setCourseCode(course.getCourseCode());
@@ -161,13 +460,11 @@ public class CourseService {
         dto.setStartDate(course.getStartDate());
         dto.setEndDate(course.getEndDate());
         dto.setIsActive(course.getIsActive());
+        dto.setCapacity(course.getCapacity());
+        dto.setEnrolledCount(course.getEnrolledCount());
         dto.setCreatedAt(course.getCreatedAt());
         dto.setUpdatedAt(course.getUpdatedAt());
-        
-        // Convert student IDs
-        Set<Long> studentIds = course.getStudents().stream()
-                .map(Student::getId)
-                .collect(Collectors.toSet());
+        dto.setVersion(course.getVersion());
         dto.setStudentIds(studentIds);
         
         return dto;
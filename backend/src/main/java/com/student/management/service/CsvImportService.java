@@ -0,0 +1,258 @@
+package com.student.management.service;
+
+import com.student.management.csv.CsvFormatException;
+import com.student.management.csv.CsvReader;
+import com.student.management.dto.ImportLineError;
+import com.student.management.dto.ImportReport;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.exception.ValidationException;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.StudentRepository;
+import com.student.management.search.CourseSearchIndex;
+import com.student.management.search.StudentSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bulk onboarding from CSV. Rows are parsed as they arrive, checked against the entity's bean
+// constraints and against an in-memory set of taken emails/course codes, and written in chunks,
+// one transaction per chunk, as batched inserts. A bad row is reported with its line number and
+// skipped; it never rolls back the rows around it.
+// Not @Transactional on purpose: each chunk commits on its own.
+@Service
+public class CsvImportService {
+    
+    private static final Set<String> STUDENT_COLUMNS = Set.of("firstName", "lastName", "email", "dateOfBirth", "phoneNumber");
+    private static final Set<String> STUDENT_REQUIRED = Set.of("firstName", "lastName", "email", "dateOfBirth");
+    private static final Set<String> COURSE_COLUMNS = Set.of("courseCode", "courseName", "description", "credits", "price",
+            "startDate", "endDate", "isActive", "capacity");
+    private static final Set<String> COURSE_REQUIRED = Set.of("courseCode", "courseName", "credits", "price");
+    // Written by the CSV export but assigned by the database, so an exported file imports as is
+    private static final Set<String> STUDENT_READ_ONLY = Set.of("id", "createdAt", "updatedAt", "version");
+    private static final Set<String> COURSE_READ_ONLY = Set.of("id", "enrolledCount", "createdAt", "updatedAt", "version");
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+    
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+    
+    public ImportReport importStudents(InputStream csv) {
+        Set<String> emails = new HashSet<>(studentRepository.findAllEmails());
+        return importRows(csv, STUDENT_COLUMNS, STUDENT_REQUIRED, STUDENT_READ_ONLY, row -> {
+            Student student = new Student(row.get("firstName"), row.get("lastName"), row.get("email"),
+                    parse(row, "dateOfBirth", LocalDate::parse));
+            student.setPhoneNumber(row.get("phoneNumber"));
+            return student;
+        }, Student::getEmail, "Email", emails, studentRepository::saveAll, studentSearchIndex::put);
+    }
+    
+    public ImportReport importCourses(InputStream csv) {
+        Set<String> courseCodes = new HashSet<>(courseRepository.findAllCourseCodes());
+        return importRows(csv, COURSE_COLUMNS, COURSE_REQUIRED, COURSE_READ_ONLY, row -> {
+            Course course = new Course(row.get("courseCode"), row.get("courseName"),
+                    parse(row, "credits", Integer::valueOf), parse(row, "price", BigDecimal::new));
+            course.setDescription(row.get("description"));
+            course.setStartDate(parse(row, "startDate", LocalDate::parse));
+            course.setEndDate(parse(row, "endDate", LocalDate::parse));
+            course.setCapacity(parse(row, "capacity", Integer::valueOf));
+            Boolean active = parse(row, "isActive", CsvImportService::parseBoolean);
+            course.setIsActive(active == null || active);
+            return course;
+        }, Course::getCourseCode, "Course code", courseCodes, courseRepository::saveAll, courseSearchIndex::put);
+    }
+    
+    private <T> ImportReport importRows(InputStream csv, Set<String> columns, Set<String> required,
+                                        Set<String> readOnly, Function<Map<String, String>, T> mapper, Function<T, String> uniqueKey,
+                                        String keyLabel, Set<String> takenKeys, Consumer<List<T>> save,
+                                        Consumer<T> index) {
+        ImportReport report = new ImportReport();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkLines = new ArrayList<>(chunkSize);
+        
+        try (CsvReader reader = new CsvReader(csv)) {
+            List<String> header = readHeader(reader, columns, required, readOnly);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                int line = reader.getLineNumber();
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                if (record.size() != header.size()) {
+                    fail(report, line, "Expected " + header.size() + " fields but found " + record.size());
+                    continue;
+                }
+                
+                T entity;
+                try {
+                    entity = mapper.apply(toRow(header, record));
+                } catch (IllegalArgumentException e) {
+                    fail(report, line, e.getMessage());
+                    continue;
+                }
+                Set<ConstraintViolation<T>> violations = validator.validate(entity);
+                if (!violations.isEmpty()) {
+                    fail(report, line, violations.stream()
+                            .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                            .map(ConstraintViolation::getMessage)
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+                // Also catches duplicates within the file itself
+                if (!takenKeys.add(uniqueKey.apply(entity))) {
+                    fail(report, line, keyLabel + " already exists: " + uniqueKey.apply(entity));
+                    continue;
+                }
+                
+                chunk.add(entity);
+                chunkLines.add(line);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(transaction, chunk, chunkLines, save, index, report);
+                }
+            }
+        } catch (CsvFormatException e) {
+            // Past a structural error the field boundaries are unknown, so stop here
+            fail(report, e.getLine(), e.getMessage() + "; import stopped");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV import", e);
+        }
+        writeChunk(transaction, chunk, chunkLines, save, index, report);
+        return report;
+    }
+    
+    private <T> void writeChunk(TransactionTemplate transaction, List<T> chunk, List<Integer> lines,
+                                Consumer<List<T>> save, Consumer<T> index, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> {
+                save.accept(chunk);
+                // Send the batched inserts, then drop the entities so memory stays flat
+                entityManager.flush();
+                entityManager.clear();
+            });
+            // Only once the chunk committed, so a rolled-back chunk leaves nothing in the search index
+            chunk.forEach(index);
+            report.setImported(report.getImported() + chunk.size());
+        } catch (DataAccessException | PersistenceException e) {
+            // Typically a concurrent insert of the same email or code; the chunk rolled back as a whole.
+            // The batched inserts fail in the direct flush(), which Spring does not translate
+            String message = "Not imported, chunk rolled back: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            lines.forEach(line -> fail(report, line, message));
+        }
+        chunk.clear();
+        lines.clear();
+    }
+    
+    private List<String> readHeader(CsvReader reader, Set<String> columns, Set<String> required,
+                                    Set<String> readOnly) throws IOException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new ValidationException("CSV input is empty; expected a header line");
+        }
+        header = header.stream().map(String::trim).collect(Collectors.toList());
+        for (String column : header) {
+            if (!columns.contains(column) && !readOnly.contains(column)) {
+                throw new ValidationException("Unknown column '" + column + "', expected any of " + columns);
+            }
+        }
+        if (new HashSet<>(header).size() != header.size()) {
+            throw new ValidationException("Duplicate column in header: " + header);
+        }
+        for (String column : required) {
+            if (!header.contains(column)) {
+                throw new ValidationException("Missing required column '" + column + "'");
+            }
+        }
+        return header;
+    }
+    
+    // Blank cells become null, so optional columns can be left empty
+    private static Map<String, String> toRow(List<String> header, List<String> record) {
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = record.get(i).trim();
+            row.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return row;
+    }
+    
+    private static <V> V parse(Map<String, String> row, String column, Function<String, V> parser) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+    
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException(value);
+    }
+    
+    private void fail(ImportReport report, int line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ImportLineError(line, message));
+        }
+    }
+}
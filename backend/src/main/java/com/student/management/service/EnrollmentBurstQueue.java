@@ -0,0 +1,165 @@
+package com.student.management.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.student.management.dto.BulkEnrollmentResponse;
+import com.student.management.dto.BulkEnrollmentResult;
+import com.student.management.dto.EnrollmentRequest;
+import com.student.management.dto.EnrollmentTicket;
+import com.student.management.dto.TicketState;
+import com.student.management.exception.QueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Registration-window mode: requests are queued in memory and applied in batches,
+// one transaction per batch, so a burst does not hold one connection per request
+@Component
+public class EnrollmentBurstQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentBurstQueue.class);
+
+    private static final long POLL_MILLIS = 200;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ConflictRetry conflictRetry;
+
+    @Value("${app.enrollment.burst.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.enrollment.burst.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.enrollment.burst.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.enrollment.burst.ticket-retention:10m}")
+    private Duration ticketRetention;
+
+    private BlockingQueue<EnrollmentTicket> queue;
+    private Cache<String, EnrollmentTicket> tickets;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Finished tickets expire; the size bound covers queued plus recently finished tickets
+        tickets = Caffeine.newBuilder()
+                .expireAfterWrite(ticketRetention)
+                .maximumSize(queueCapacity * 10L)
+                .build();
+        running = true;
+        worker = new Thread(this::drain, "enrollment-burst-worker");
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        // Let the worker finish what is already queued
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    // Accepts without touching the database; rejects when the queue is full
+    public EnrollmentTicket submit(Long studentId, Long courseId) {
+        EnrollmentTicket ticket = new EnrollmentTicket(
+                UUID.randomUUID().toString(), studentId, courseId, LocalDateTime.now());
+        tickets.put(ticket.getId(), ticket);
+        if (!queue.offer(ticket)) {
+            tickets.invalidate(ticket.getId());
+            throw new QueueFullException("Enrollment queue is full, retry shortly");
+        }
+        return ticket;
+    }
+
+    public Optional<EnrollmentTicket> findTicket(String id) {
+        return tickets == null ? Optional.empty() : Optional.ofNullable(tickets.getIfPresent(id));
+    }
+
+    private void drain() {
+        List<EnrollmentTicket> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                EnrollmentTicket first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<EnrollmentTicket> batch) {
+        try {
+            complete(batch, conflictRetry.run(() -> enrollmentService.bulkEnroll(toRequests(batch), true)));
+        } catch (RuntimeException batchFailure) {
+            // One bad pair must not fail its neighbours: retry each on its own
+            log.warn("Enrollment batch of {} failed, retrying individually", batch.size(), batchFailure);
+            for (EnrollmentTicket ticket : batch) {
+                try {
+                    complete(List.of(ticket), conflictRetry.run(
+                            () -> enrollmentService.bulkEnroll(toRequests(List.of(ticket)), true)));
+                } catch (RuntimeException e) {
+                    tickets.put(ticket.getId(), ticket.complete(TicketState.FAILED, null, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    // Bulk results come back in request order
+    private void complete(List<EnrollmentTicket> batch, BulkEnrollmentResponse response) {
+        List<BulkEnrollmentResult> results = response.getResults();
+        for (int i = 0; i < batch.size(); i++) {
+            EnrollmentTicket ticket = batch.get(i);
+            BulkEnrollmentResult result = results.get(i);
+            tickets.put(ticket.getId(), ticket.complete(TicketState.COMPLETED, result.getStatus(), result.getMessage()));
+        }
+    }
+
+    private List<EnrollmentRequest> toRequests(List<EnrollmentTicket> batch) {
+        List<EnrollmentRequest> requests = new ArrayList<>(batch.size());
+        for (EnrollmentTicket ticket : batch) {
+            requests.add(new EnrollmentRequest(ticket.getStudentId(), ticket.getCourseId()));
+        }
+        return requests;
+    }
+}
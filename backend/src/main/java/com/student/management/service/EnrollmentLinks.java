@@ -0,0 +1,68 @@
+package com.student.management.service;
+
+import com.student.management.repository.EnrollmentLink;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Groups join-table projections by one side, querying in bounded IN batches
+final class EnrollmentLinks {
+    
+    static final int IN_BATCH_SIZE = 1000;
+    
+    private EnrollmentLinks() {}
+    
+    static Map<Long, Set<Long>> courseIdsByStudent(Collection<Long> studentIds,
+                                                   Function<List<Long>, List<EnrollmentLink>> query) {
+        return group(studentIds, query, EnrollmentLink::getStudentId, EnrollmentLink::getCourseId);
+    }
+    
+    static Map<Long, Set<Long>> studentIdsByCourse(Collection<Long> courseIds,
+                                                   Function<List<Long>, List<EnrollmentLink>> query) {
+        return group(courseIds, query, EnrollmentLink::getCourseId, EnrollmentLink::getStudentId);
+    }
+    
+    // The subset of ids that exist, looked up in bounded IN batches
+    static Set<Long> findExisting(Collection<Long> ids, Function<List<Long>, List<Long>> query) {
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> batch : partition(ids, IN_BATCH_SIZE)) {
+            existing.addAll(query.apply(batch));
+        }
+        return existing;
+    }
+    
+    static <T> List<List<T>> partition(Collection<T> values, int batchSize) {
+        List<List<T>> batches = new ArrayList<>();
+        List<T> current = new ArrayList<>(Math.min(values.size(), batchSize));
+        for (T value : values) {
+            current.add(value);
+            if (current.size() == batchSize) {
+                batches.add(current);
+                current = new ArrayList<>(batchSize);
+            }
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+    
+    private static Map<Long, Set<Long>> group(Collection<Long> ids,
+                                              Function<List<Long>, List<EnrollmentLink>> query,
+                                              Function<EnrollmentLink, Long> key,
+                                              Function<EnrollmentLink, Long> value) {
+        Map<Long, Set<Long>> grouped = new HashMap<>();
+        for (List<Long> batch : partition(ids, IN_BATCH_SIZE)) {
+            for (EnrollmentLink link : query.apply(batch)) {
+                grouped.computeIfAbsent(key.apply(link), k -> new HashSet<>()).add(value.apply(link));
+            }
+        }
+        return grouped;
+    }
+}
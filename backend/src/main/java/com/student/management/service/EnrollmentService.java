@@ -1,19 +1,36 @@
 package com.student.management.service;
 
+import com.student.management.config.PaginationSettings;
+import com.student.management.dto.BulkEnrollmentResponse;
+import com.student.management.dto.BulkEnrollmentResult;
+import com.student.management.dto.CourseDto;
+import com.student.management.dto.EnrollmentRequest;
 import com.student.management.dto.EnrollmentResponse;
-import com.student.management.entity.Student;
-import com.student.management.entity.Course;
+import com.student.management.dto.EnrollmentStatus;
+import com.student.management.dto.PageResponse;
+import com.student.management.dto.StudentDto;
+import com.student.management.dto.WaitlistEntryResponse;
+import com.student.management.entity.WaitlistEntry;
 import com.student.management.exception.ResourceNotFoundException;
 import com.student.management.exception.ValidationException;
+import com.student.management.repository.EnrollmentKey;
+import com.student.management.repository.EnrollmentRepository;
 import com.student.management.repository.StudentRepository;
 import com.student.management.repository.CourseRepository;
+import com.student.management.repository.WaitlistRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -24,31 +41,42 @@ public class EnrollmentService {
     
     @Autowired
     private CourseRepository courseRepository;
+    
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private EnrollmentWriter enrollmentWriter;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private PaginationSettings paginationSettings;
 
     public EnrollmentResponse enrollStudentInCourse(Long studentId, Long courseId) {
-        // Validate student and course exist
-        Student student = studentRepository.findById(studentId)
-            .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-        
-        Course course = courseRepository.findById(courseId)
-            .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        // Validate student and course exist (served from the entity cache when warm)
+        StudentDto student = studentService.getStudentById(studentId);
+        CourseDto course = courseService.getCourseById(courseId);
         
         // Check if already enrolled
-        if (student.getCourses().contains(course)) {
+        if (student.getCourseIds().contains(courseId)) {
             throw new ValidationException("Student is already enrolled in this course");
         }
         
         // Check if course is active
-        if (!course.getIsActive()) {
+        if (!Boolean.TRUE.equals(course.getIsActive())) {
             throw new ValidationException("Cannot enroll in inactive course");
         }
         
-        // Add course to student's courses
-        student.getCourses().add(course);
-        studentRepository.save(student);
-        
-        // Create and return enrollment response
-        return new EnrollmentResponse(
+        // Create the enrollment response
+        EnrollmentResponse response = new EnrollmentResponse(
             null, // ID will be generated by the database
             studentId,
             courseId,
@@ -56,73 +84,183 @@ public class EnrollmentService {
             student.getFirstName() + " " + student.getLastName(),
             course.getCourseName()
         );
+        
+        // Insert the join row and take a seat atomically; a full course queues the request instead
+        EnrollmentKey key = new EnrollmentKey(studentId, courseId);
+        if (enrollmentWriter.linkWithinCapacity(List.of(key)).isEmpty()) {
+            if (waitlistRepository.existsByCourseIdAndStudentId(courseId, studentId)) {
+                throw new ValidationException("Student is already on the waitlist for this course");
+            }
+            waitlistRepository.save(new WaitlistEntry(courseId, studentId));
+            response.setStatus(EnrollmentStatus.WAITLISTED);
+        }
+        return response;
     }
 
     public void unenrollStudentFromCourse(Long studentId, Long courseId) {
         // Validate student and course exist
-        Student student = studentRepository.findById(studentId)
-            .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-        
-        Course course = courseRepository.findById(courseId)
-            .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        StudentDto student = studentService.getStudentById(studentId);
+        courseService.getCourseById(courseId);
         
         // Check if enrolled
-        if (!student.getCourses().contains(course)) {
+        if (!student.getCourseIds().contains(courseId)) {
             throw new ValidationException("Student is not enrolled in this course");
         }
         
-        // Remove course from student's courses
-        student.getCourses().remove(course);
-        studentRepository.save(student);
+        // Remove the join row; the freed seat goes to the head of the waitlist in this transaction
+        enrollmentWriter.unlink(List.of(new EnrollmentKey(studentId, courseId)));
+    }
+
+    public BulkEnrollmentResponse bulkEnroll(List<EnrollmentRequest> requests) {
+        return bulkEnroll(requests, false);
+    }
+
+    // The burst queue waitlists pairs that miss a seat instead of reporting COURSE_FULL
+    public BulkEnrollmentResponse bulkEnroll(List<EnrollmentRequest> requests, boolean waitlistWhenFull) {
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (EnrollmentRequest request : requests) {
+            studentIds.add(request.getStudentId());
+            courseIds.add(request.getCourseId());
+        }
+        
+        // Validate existence with batched lookups instead of one findById per pair
+        Set<Long> existingStudentIds = EnrollmentLinks.findExisting(studentIds, studentRepository::findExistingIds);
+        Map<Long, Boolean> courseActive = new HashMap<>();
+        for (List<Long> batch : EnrollmentLinks.partition(courseIds, EnrollmentLinks.IN_BATCH_SIZE)) {
+            for (CourseRepository.CourseActivity course : courseRepository.findActivityByIds(batch)) {
+                courseActive.put(course.getId(), Boolean.TRUE.equals(course.getIsActive()));
+            }
+        }
+        
+        // Detect existing enrollments for all candidate pairs at once
+        List<EnrollmentKey> candidates = new ArrayList<>();
+        for (EnrollmentRequest request : requests) {
+            if (existingStudentIds.contains(request.getStudentId())
+                    && Boolean.TRUE.equals(courseActive.get(request.getCourseId()))) {
+                candidates.add(new EnrollmentKey(request.getStudentId(), request.getCourseId()));
+            }
+        }
+        Set<EnrollmentKey> alreadyEnrolled = enrollmentWriter.findExisting(candidates);
+        
+        List<BulkEnrollmentResult> results = new ArrayList<>(requests.size());
+        Set<EnrollmentKey> accepted = new LinkedHashSet<>();
+        for (EnrollmentRequest request : requests) {
+            Long studentId = request.getStudentId();
+            Long courseId = request.getCourseId();
+            EnrollmentKey key = new EnrollmentKey(studentId, courseId);
+            
+            EnrollmentStatus status;
+            String message = null;
+            if (!existingStudentIds.contains(studentId)) {
+                status = EnrollmentStatus.STUDENT_NOT_FOUND;
+                message = "Student not found with id: " + studentId;
+            } else if (!courseActive.containsKey(courseId)) {
+                status = EnrollmentStatus.COURSE_NOT_FOUND;
+                message = "Course not found with id: " + courseId;
+            } else if (!courseActive.get(courseId)) {
+                status = EnrollmentStatus.COURSE_INACTIVE;
+                message = "Cannot enroll in inactive course";
+            } else if (alreadyEnrolled.contains(key)) {
+                status = EnrollmentStatus.ALREADY_ENROLLED;
+                message = "Student is already enrolled in this course";
+            } else if (!accepted.add(key)) {
+                status = EnrollmentStatus.DUPLICATE_REQUEST;
+                message = "Pair appears more than once in the request";
+            } else {
+                status = EnrollmentStatus.ENROLLED;
+            }
+            results.add(new BulkEnrollmentResult(studentId, courseId, status, message));
+        }
+        
+        // Seats go to accepted pairs in request order; the rest of a full course is reported back
+        Set<EnrollmentKey> linked = enrollmentWriter.linkWithinCapacity(accepted);
+        for (BulkEnrollmentResult result : results) {
+            if (result.getStatus() == EnrollmentStatus.ENROLLED
+                    && !linked.contains(new EnrollmentKey(result.getStudentId(), result.getCourseId()))) {
+                if (waitlistWhenFull) {
+                    waitlist(result);
+                } else {
+                    result.setStatus(EnrollmentStatus.COURSE_FULL);
+                    result.setMessage("Course is full");
+                }
+            }
+        }
+        return new BulkEnrollmentResponse(results);
+    }
+
+    private void waitlist(BulkEnrollmentResult result) {
+        result.setStatus(EnrollmentStatus.WAITLISTED);
+        if (waitlistRepository.existsByCourseIdAndStudentId(result.getCourseId(), result.getStudentId())) {
+            result.setMessage("Student is already on the waitlist for this course");
+            return;
+        }
+        waitlistRepository.save(new WaitlistEntry(result.getCourseId(), result.getStudentId()));
+        result.setMessage("Course is full, added to the waitlist");
     }
 
+    @Transactional(readOnly = true)
     public List<EnrollmentResponse> getStudentEnrollments(Long studentId) {
         // Validate student exists
-        Student student = studentRepository.findById(studentId)
-            .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
         
-        return student.getCourses().stream()
-            .map(course -> new EnrollmentResponse(
-                null,
-                studentId,
-                course.getId(),
-                LocalDateTime.now(), // Note: This is a simplified approach
-                student.getFirstName() + " " + student.getLastName(),
-                course.getCourseName()
-            ))
-            .collect(Collectors.toList());
+        return enrollmentRepository.findAll(studentId, null);
     }
 
+    @Transactional(readOnly = true)
     public List<EnrollmentResponse> getCourseEnrollments(Long courseId) {
         // Validate course exists
-        Course course = courseRepository.findById(courseId)
-            .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+        
+        return enrollmentRepository.findAll(null, courseId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryResponse> getWaitlist(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
         
-        return course.getStudents().stream()
-            .map(student -> new EnrollmentResponse(
-                null,
-                student.getId(),
-                courseId,
-                LocalDateTime.now(), // Note: This is a simplified approach
-                student.getFirstName() + " " + student.getLastName(),
-                course.getCourseName()
-            ))
-            .collect(Collectors.toList());
+        List<WaitlistEntryResponse> waitlist = new ArrayList<>();
+        for (WaitlistRepository.WaitlistView entry : waitlistRepository.findViewByCourseId(courseId)) {
+            waitlist.add(new WaitlistEntryResponse(
+                waitlist.size() + 1,
+                entry.getStudentId(),
+                entry.getFirstName() + " " + entry.getLastName(),
+                entry.getRequestedAt()
+            ));
+        }
+        return waitlist;
     }
 
+    @Transactional(readOnly = true)
     public List<EnrollmentResponse> getAllEnrollments() {
-        List<Student> students = studentRepository.findAll();
+        return enrollmentRepository.findAll(null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<EnrollmentResponse> getEnrollmentsPage(Long studentId, Long courseId, String cursor, Integer size) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        long[] after = cursor == null || cursor.isBlank() ? new long[] {0L, 0L} : KeysetCursor.decode(cursor, 2);
         
-        return students.stream()
-            .flatMap(student -> student.getCourses().stream()
-                .map(course -> new EnrollmentResponse(
-                    null,
-                    student.getId(),
-                    course.getId(),
-                    LocalDateTime.now(), // Note: This is a simplified approach
-                    student.getFirstName() + " " + student.getLastName(),
-                    course.getCourseName()
-                )))
-            .collect(Collectors.toList());
+        // Fetch one extra row to learn whether another page follows
+        List<EnrollmentResponse> rows = enrollmentRepository.findPage(studentId, courseId, after[0], after[1], pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<EnrollmentResponse> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            EnrollmentResponse last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getStudentId(), last.getCourseId());
+        }
+        return new PageResponse<>(page, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamEnrollments(Long studentId, Long courseId, Consumer<EnrollmentResponse> sink) {
+        enrollmentRepository.stream(studentId, courseId, sink);
     }
 }
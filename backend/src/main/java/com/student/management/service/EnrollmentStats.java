@@ -0,0 +1,173 @@
+package com.student.management.service;
+
+import com.student.management.dto.StatsResponse;
+import com.student.management.repository.EnrollmentKey;
+import com.student.management.repository.EnrollmentRepository;
+import com.student.management.repository.StudentRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Dashboard aggregates kept in memory: loaded once before the web server takes requests, then
+// moved by the deltas the write paths report, applied after commit so rolled-back writes never
+// count. Each applied delta republishes an immutable snapshot, so a dashboard read is one
+// volatile load and never waits for a writer or copies the per-course map.
+// Like the modification counters, this assumes the application is the only writer.
+@Component
+public class EnrollmentStats implements SmartInitializingSingleton {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private final Map<Long, CourseTotals> courses = new HashMap<>();
+    private final Map<Long, Integer> coursesPerStudent = new HashMap<>();
+    private long studentCount;
+    private long activeCourseCount;
+    private long enrollmentCount;
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private volatile StatsResponse snapshot = new StatsResponse(0, 0, 0, 0, 0, BigDecimal.ZERO, 0, Map.of());
+
+    // Runs after all singletons exist, i.e. after Flyway and before the data loader or any request
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    // Recounts from the tables, for writers that bypass the entity listener (synthetic data)
+    public synchronized void reload() {
+        courses.clear();
+        coursesPerStudent.clear();
+        activeCourseCount = 0;
+        enrollmentCount = 0;
+        revenue = BigDecimal.ZERO;
+        studentCount = studentRepository.count();
+        for (EnrollmentRepository.CourseTotal total : enrollmentRepository.findCourseTotals()) {
+            courseSaved(total.id(), total.price(), total.active());
+            CourseTotals course = courses.get(total.id());
+            course.enrolled = total.enrolled();
+            enrollmentCount += total.enrolled();
+            revenue = revenue.add(course.price.multiply(BigDecimal.valueOf(total.enrolled())));
+        }
+        enrollmentRepository.forEachStudentCourseCount(coursesPerStudent::put);
+        publish();
+    }
+
+    // Shared by every caller until the next delta; treat it as read-only
+    public StatsResponse snapshot() {
+        return snapshot;
+    }
+
+    public void studentCreated() {
+        afterCommit(() -> studentCount++);
+    }
+
+    public void studentDeleted(Long studentId) {
+        afterCommit(() -> {
+            studentCount--;
+            coursesPerStudent.remove(studentId);
+        });
+    }
+
+    // Creates or updates; a price change reprices the seats already taken
+    public void courseChanged(Long courseId, BigDecimal price, Boolean active) {
+        afterCommit(() -> courseSaved(courseId, price, Boolean.TRUE.equals(active)));
+    }
+
+    public void courseDeleted(Long courseId) {
+        afterCommit(() -> {
+            CourseTotals course = courses.remove(courseId);
+            if (course != null) {
+                if (course.active) {
+                    activeCourseCount--;
+                }
+                enrollmentCount -= course.enrolled;
+                revenue = revenue.subtract(course.price.multiply(BigDecimal.valueOf(course.enrolled)));
+            }
+        });
+    }
+
+    // Only pairs whose join row was really inserted or deleted
+    public void linked(Collection<EnrollmentKey> keys) {
+        if (!keys.isEmpty()) {
+            List<EnrollmentKey> copy = List.copyOf(keys);
+            afterCommit(() -> copy.forEach(key -> move(key, 1)));
+        }
+    }
+
+    public void unlinked(Collection<EnrollmentKey> keys) {
+        if (!keys.isEmpty()) {
+            List<EnrollmentKey> copy = List.copyOf(keys);
+            afterCommit(() -> copy.forEach(key -> move(key, -1)));
+        }
+    }
+
+    private void courseSaved(Long courseId, BigDecimal price, boolean active) {
+        BigDecimal newPrice = price == null ? BigDecimal.ZERO : price;
+        CourseTotals course = courses.computeIfAbsent(courseId, id -> new CourseTotals());
+        revenue = revenue.add(newPrice.subtract(course.price).multiply(BigDecimal.valueOf(course.enrolled)));
+        course.price = newPrice;
+        if (course.active != active) {
+            activeCourseCount += active ? 1 : -1;
+            course.active = active;
+        }
+    }
+
+    private void move(EnrollmentKey key, int delta) {
+        CourseTotals course = courses.computeIfAbsent(key.getCourseId(), id -> new CourseTotals());
+        course.enrolled += delta;
+        enrollmentCount += delta;
+        revenue = delta > 0 ? revenue.add(course.price) : revenue.subtract(course.price);
+        int courseCount = coursesPerStudent.getOrDefault(key.getStudentId(), 0) + delta;
+        if (courseCount > 0) {
+            coursesPerStudent.put(key.getStudentId(), courseCount);
+        } else {
+            coursesPerStudent.remove(key.getStudentId());
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    private synchronized void apply(Runnable update) {
+        update.run();
+        publish();
+    }
+
+    // Caller holds the lock
+    private void publish() {
+        Map<Long, Integer> studentsPerCourse = new TreeMap<>();
+        courses.forEach((id, course) -> studentsPerCourse.put(id, course.enrolled));
+        double average = studentCount == 0 ? 0 : (double) enrollmentCount / studentCount;
+        snapshot = new StatsResponse(studentCount, coursesPerStudent.size(), courses.size(), activeCourseCount,
+                enrollmentCount, revenue, average, Collections.unmodifiableMap(studentsPerCourse));
+    }
+
+    private static class CourseTotals {
+        private BigDecimal price = BigDecimal.ZERO;
+        private boolean active;
+        private int enrolled;
+    }
+}
@@ -0,0 +1,204 @@
+package com.student.management.service;
+
+import com.student.management.entity.WaitlistEntry;
+import com.student.management.exception.ValidationException;
+import com.student.management.repository.EnrollmentKey;
+import com.student.management.repository.EnrollmentRepository;
+import com.student.management.repository.WaitlistRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Set-based writes to the student_courses join table, bypassing the entity graph
+@Service
+@Transactional
+public class EnrollmentWriter {
+    
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EntityCacheInvalidator cacheInvalidator;
+    
+    @Autowired
+    private ModificationCounters modificationCounters;
+    
+    @Autowired
+    private EnrollmentStats enrollmentStats;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Which of the given pairs already have a join row
+    public Set<EnrollmentKey> findExisting(Collection<EnrollmentKey> keys) {
+        if (keys.isEmpty()) {
+            return new HashSet<>();
+        }
+        // JDBC reads do not trigger Hibernate's auto-flush
+        entityManager.flush();
+        
+        Set<Long> studentIds = keys.stream().map(EnrollmentKey::getStudentId).collect(Collectors.toSet());
+        Set<Long> courseIds = keys.stream().map(EnrollmentKey::getCourseId).collect(Collectors.toSet());
+        Set<EnrollmentKey> existing = new HashSet<>();
+        for (List<Long> studentBatch : EnrollmentLinks.partition(studentIds, EnrollmentLinks.IN_BATCH_SIZE)) {
+            for (List<Long> courseBatch : EnrollmentLinks.partition(courseIds, EnrollmentLinks.IN_BATCH_SIZE)) {
+                existing.addAll(enrollmentRepository.findExistingLinks(studentBatch, courseBatch));
+            }
+        }
+        // The IN x IN query can match pairs that were not asked for
+        existing.retainAll(new HashSet<>(keys));
+        return existing;
+    }
+    
+    // Inserts the pairs that are not linked yet and returns them
+    public Set<EnrollmentKey> enroll(Collection<EnrollmentKey> keys) {
+        Set<EnrollmentKey> toInsert = new LinkedHashSet<>(keys);
+        toInsert.removeAll(findExisting(toInsert));
+        link(toInsert);
+        return toInsert;
+    }
+    
+    // Inserts join rows for pairs the caller has already validated; fails if any course lacks seats
+    public void link(Collection<EnrollmentKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        enrollmentRepository.insertLinks(keys);
+        // Seats are claimed last so the course row stays locked for as little of the transaction as possible
+        for (Map.Entry<Long, List<EnrollmentKey>> course : byCourse(keys).entrySet()) {
+            if (!enrollmentRepository.claimSeats(course.getKey(), course.getValue().size())) {
+                throw new ValidationException("Course is full: " + course.getKey());
+            }
+        }
+        leaveWaitlists(keys);
+        enrollmentStats.linked(keys);
+        evict(keys);
+    }
+    
+    // Links as many pairs per course as there are free seats, in the given order, and returns them
+    public Set<EnrollmentKey> linkWithinCapacity(Collection<EnrollmentKey> keys) {
+        Set<EnrollmentKey> linked = new LinkedHashSet<>();
+        if (keys.isEmpty()) {
+            return linked;
+        }
+        entityManager.flush();
+        for (Map.Entry<Long, List<EnrollmentKey>> course : byCourse(keys).entrySet()) {
+            List<EnrollmentKey> requested = course.getValue();
+            int granted = claimUpTo(course.getKey(), requested.size());
+            linked.addAll(requested.subList(0, granted));
+        }
+        enrollmentRepository.insertLinks(linked);
+        leaveWaitlists(linked);
+        enrollmentStats.linked(linked);
+        evict(linked);
+        return linked;
+    }
+    
+    // Deletes join rows, gives back the seats of the rows that were really there and
+    // hands each freed seat to the head of that course's waitlist
+    public void unlink(Collection<EnrollmentKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        List<EnrollmentKey> deleted = enrollmentRepository.deleteLinks(keys);
+        Map<Long, Integer> seatsByCourse = new TreeMap<>();
+        for (EnrollmentKey key : deleted) {
+            seatsByCourse.merge(key.getCourseId(), 1, Integer::sum);
+        }
+        // Releasing locks the course rows, so promotions for a course run one at a time
+        enrollmentRepository.releaseSeats(seatsByCourse);
+        enrollmentStats.unlinked(deleted);
+        evict(keys);
+        seatsByCourse.forEach(this::promoteWaitlisted);
+    }
+    
+    // After a capacity increase, the new seats go to waiting students before anyone else
+    public void fillFromWaitlist(Long courseId) {
+        entityManager.flush();
+        Integer free = enrollmentRepository.findFreeSeats(courseId);
+        promoteWaitlisted(courseId, free == null ? Integer.MAX_VALUE : free);
+    }
+    
+    // One head lookup per freed seat; stops early if the queue empties or the seat is gone
+    private void promoteWaitlisted(Long courseId, int freedSeats) {
+        int seats = freedSeats;
+        while (seats > 0) {
+            Optional<WaitlistEntry> head = waitlistRepository.findFirstByCourseIdOrderByIdAsc(courseId);
+            if (head.isEmpty()) {
+                return;
+            }
+            EnrollmentKey key = new EnrollmentKey(head.get().getStudentId(), courseId);
+            if (findExisting(List.of(key)).isEmpty()) {
+                if (!enrollmentRepository.claimSeats(courseId, 1)) {
+                    return;
+                }
+                enrollmentRepository.insertLinks(List.of(key));
+                enrollmentStats.linked(List.of(key));
+                evict(List.of(key));
+                seats--;
+            }
+            // Consumed either way; a student already enrolled through another path only loses the stale entry
+            waitlistRepository.delete(head.get());
+        }
+    }
+    
+    // A student who got a seat directly no longer waits for one; a stale entry would later be
+    // promoted into a seat the student already holds
+    private void leaveWaitlists(Collection<EnrollmentKey> keys) {
+        for (Map.Entry<Long, List<EnrollmentKey>> course : byCourse(keys).entrySet()) {
+            waitlistRepository.deleteByCourseIdAndStudentIds(course.getKey(), course.getValue().stream()
+                    .map(EnrollmentKey::getStudentId)
+                    .collect(Collectors.toList()));
+        }
+    }
+    
+    // Conditional UPDATE first; on failure shrink the request to what is left and retry
+    private int claimUpTo(Long courseId, int requested) {
+        int seats = requested;
+        while (seats > 0) {
+            if (enrollmentRepository.claimSeats(courseId, seats)) {
+                return seats;
+            }
+            Integer free = enrollmentRepository.findFreeSeats(courseId);
+            seats = free == null ? 0 : Math.min(seats, free);
+        }
+        return 0;
+    }
+    
+    // Sorted by course ID so concurrent multi-course writers lock course rows in the same order
+    private Map<Long, List<EnrollmentKey>> byCourse(Collection<EnrollmentKey> keys) {
+        Map<Long, List<EnrollmentKey>> byCourse = new TreeMap<>();
+        for (EnrollmentKey key : keys) {
+            byCourse.computeIfAbsent(key.getCourseId(), courseId -> new ArrayList<>()).add(key);
+        }
+        return byCourse;
+    }
+    
+    // Cached DTOs on both sides carry the membership ID sets, and course DTOs the seat count
+    private void evict(Collection<EnrollmentKey> keys) {
+        if (!keys.isEmpty()) {
+            modificationCounters.touch(ModificationCounters.Table.ENROLLMENTS,
+                    ModificationCounters.Table.STUDENTS, ModificationCounters.Table.COURSES);
+        }
+        cacheInvalidator.evictStudents(keys.stream().map(EnrollmentKey::getStudentId).collect(Collectors.toSet()));
+        cacheInvalidator.evictCourses(keys.stream().map(EnrollmentKey::getCourseId).collect(Collectors.toSet()));
+    }
+}
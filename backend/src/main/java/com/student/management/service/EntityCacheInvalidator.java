@@ -0,0 +1,56 @@
+package com.student.management.service;
+
+import com.student.management.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Explicit invalidation of cached StudentDto/CourseDto entries from the service write paths
+@Component
+public class EntityCacheInvalidator {
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    public void evictStudent(Long studentId) {
+        evict(CacheConfig.STUDENTS, List.of(studentId));
+    }
+    
+    public void evictStudents(Collection<Long> studentIds) {
+        evict(CacheConfig.STUDENTS, studentIds);
+    }
+    
+    public void evictCourse(Long courseId) {
+        evict(CacheConfig.COURSES, List.of(courseId));
+    }
+    
+    public void evictCourses(Collection<Long> courseIds) {
+        evict(CacheConfig.COURSES, courseIds);
+    }
+    
+    private void evict(String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+        List<Long> keys = new ArrayList<>(ids);
+        keys.forEach(cache::evict);
+        
+        // A concurrent reader can re-cache the pre-commit state; evict again once the write is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    keys.forEach(cache::evict);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.student.management.service;
+
+import com.student.management.export.CsvRowWriter;
+import com.student.management.export.ExportFormat;
+import com.student.management.export.RowWriter;
+import com.student.management.repository.ExportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+
+// Row-by-row exports straight from a JDBC cursor to the response: no entities, no DTO list,
+// so heap use does not grow with the table. Returns the number of rows written.
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+    
+    @Autowired
+    private ExportRepository exportRepository;
+    
+    public long exportStudents(ExportFormat format, OutputStream out) {
+        return exportRepository.students(writer(format, out));
+    }
+    
+    public long exportCourses(ExportFormat format, OutputStream out) {
+        return exportRepository.courses(writer(format, out));
+    }
+    
+    public long exportEnrollments(Long studentId, Long courseId, ExportFormat format, OutputStream out) {
+        return exportRepository.enrollments(studentId, courseId, writer(format, out));
+    }
+    
+    private RowWriter writer(ExportFormat format, OutputStream out) {
+        return new CsvRowWriter(out);
+    }
+}
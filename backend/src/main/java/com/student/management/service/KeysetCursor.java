@@ -0,0 +1,46 @@
+package com.student.management.service;
+
+import com.student.management.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor tokens for keyset pagination. A cursor carries the sort key
+ * of the last row of a page; the next page starts strictly after it.
+ */
+public final class KeysetCursor {
+    
+    private static final String SEPARATOR = ":";
+    
+    private KeysetCursor() {}
+    
+    public static String encode(long... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    public static long[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != expectedKeys) {
+                throw new ValidationException("Invalid cursor: " + cursor);
+            }
+            long[] keys = new long[expectedKeys];
+            for (int i = 0; i < expectedKeys; i++) {
+                keys[i] = Long.parseLong(parts[i]);
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.student.management.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One in-process counter per table, bumped after every committed write, so list endpoints can
+// answer If-None-Match from memory. The epoch keeps tags from a previous run from matching.
+// Only valid while this process is the only writer to the database.
+@Component
+public class ModificationCounters {
+
+    public enum Table { STUDENTS, COURSES, ENROLLMENTS }
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<Table, AtomicLong> counters = new EnumMap<>(Table.class);
+
+    public ModificationCounters() {
+        for (Table table : Table.values()) {
+            counters.put(table, new AtomicLong());
+        }
+    }
+
+    // Bumped only once the write is visible: a reader that saw the new counter must also see the new rows
+    public void touch(Table... tables) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(tables);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(tables);
+            }
+        });
+    }
+
+    // Weak ETag over the given tables; read it before loading the data it describes. Weak because
+    // the same data goes out as JSON, CBOR or Smile, gzipped or not (Tomcat never gzips a strong tag)
+    public String etag(Table... tables) {
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch);
+        for (Table table : tables) {
+            tag.append('-').append(counters.get(table).get());
+        }
+        return tag.append('"').toString();
+    }
+
+    private void increment(Table... tables) {
+        for (Table table : tables) {
+            counters.get(table).incrementAndGet();
+        }
+    }
+}
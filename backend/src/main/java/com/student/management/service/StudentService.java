@@ -1,18 +1,38 @@
 package com.student.management.service;
 
+import com.student.management.config.CacheConfig;
+import com.student.management.config.PaginationSettings;
 import com.student.management.dto.StudentDto;
-import com.student.management.entity.Course;
+import com.student.management.dto.PageResponse;
+import com.student.management.dto.Suggestion;
 import com.student.management.entity.Student;
+import com.student.management.exception.PreconditionFailedException;
 import com.student.management.exception.ResourceNotFoundException;
 import com.student.management.exception.ValidationException;
 import com.student.management.repository.CourseRepository;
+import com.student.management.repository.EnrollmentKey;
 import com.student.management.repository.StudentRepository;
+import com.student.management.repository.WaitlistRepository;
+import com.student.management.search.EntitySearchIndex;
+import com.student.management.search.StudentSearchIndex;
+import com.student.management.search.SearchHits;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,12 +45,93 @@ public class StudentService {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private EnrollmentWriter enrollmentWriter;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EntityCacheInvalidator cacheInvalidator;
+    
+    @Autowired
+    private ModificationCounters modificationCounters;
+    
+    @Autowired
+    private PaginationSettings paginationSettings;
+    
+    @Autowired
+    private StudentSearchIndex searchIndex;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private static final int STREAM_BATCH_SIZE = 500;
+    
     public List<StudentDto> getAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return getAllStudents(true);
+    }
+    
+    // Without course IDs the batched link query is skipped altogether
+    public List<StudentDto> getAllStudents(boolean withCourseIds) {
+        return convertToDtos(studentRepository.findAll(), withCourseIds);
+    }
+    
+    public List<Long> getAllStudentIds() {
+        return studentRepository.findAllIds();
+    }
+    
+    public PageResponse<StudentDto> getStudentsPage(String cursor, Integer size) {
+        return getStudentsPage(cursor, size, true);
+    }
+    
+    @Transactional(readOnly = true)
+    public PageResponse<StudentDto> getStudentsPage(String cursor, Integer size, boolean withCourseIds) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor, 1)[0];
+        
+        // Fetch one extra row to learn whether another page follows
+        List<Student> rows = studentRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Student> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1).getId()) : null;
+        
+        return new PageResponse<>(convertToDtos(page, withCourseIds), nextCursor);
     }
     
+    @Transactional(readOnly = true)
+    public PageResponse<Long> getStudentIdsPage(String cursor, Integer size) {
+        int pageSize = paginationSettings.resolvePageSize(size);
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor, 1)[0];
+        
+        List<Long> rows = studentRepository.findIdsGreaterThan(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Long> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1)) : null;
+        
+        return new PageResponse<>(page, nextCursor);
+    }
+    
+    // Keyset batches instead of one open cursor: each batch is fully read before its enrollment
+    // links are looked up, so no query runs while another result set is still being consumed
+    @Transactional(readOnly = true)
+    public void streamStudents(Consumer<StudentDto> sink) {
+        long afterId = 0L;
+        List<Student> batch;
+        do {
+            batch = studentRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, STREAM_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+            convertToDtos(batch).forEach(sink);
+            // Keep the persistence context from growing with the result set
+            batch.forEach(entityManager::detach);
+        } while (batch.size() == STREAM_BATCH_SIZE);
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.STUDENTS, key = "#id")
+    @Transactional(readOnly = true)
     public StudentDto getStudentById(Long id) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
@@ -45,6 +146,7 @@ public class StudentService {
         
         Student student = convertToEntity(studentDto);
         Student savedStudent = studentRepository.save(student);
+        searchIndex.put(savedStudent);
         
         // Handle course enrollments if provided
         if (studentDto.getCourseIds() != null && !studentDto.getCourseIds().isEmpty()) {
@@ -55,8 +157,17 @@ public class StudentService {
     }
     
     public StudentDto updateStudent(Long id, StudentDto studentDto) {
+        return updateStudent(id, studentDto, null);
+    }
+    
+    // expectedVersion comes from If-Match; null means last write wins
+    public StudentDto updateStudent(Long id, StudentDto studentDto, Long expectedVersion) {
         Student existingStudent = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+        Long version = existingStudent.getVersion();
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new PreconditionFailedException("Student " + id + " was modified; current version is " + version);
+        }
         
         // Validate email uniqueness (excluding current student)
         if (!existingStudent.getEmail().equals(studentDto.getEmail()) &&
@@ -72,12 +183,15 @@ public class StudentService {
         existingStudent.setPhoneNumber(studentDto.getPhoneNumber());
         
         Student updatedStudent = studentRepository.save(existingStudent);
+        bumpVersion(updatedStudent, version);
+        searchIndex.put(updatedStudent);
         
         // Handle course enrollments if provided
         if (studentDto.getCourseIds() != null) {
             updateStudentCourses(updatedStudent, studentDto.getCourseIds());
         }
         
+        cacheInvalidator.evictStudent(id);
         return convertToDto(updatedStudent);
     }
     
@@ -85,50 +199,187 @@ public class StudentService {
         if (!studentRepository.existsById(id)) {
             throw new ResourceNotFoundException("Student not found with id: " + id);
         }
+        
+        // Leave every waitlist first, so a seat freed below is not promoted back to this student
+        // and then dropped with the entity without being released
+        waitlistRepository.deleteByStudentId(id);
+        
+        // Unlink through the writer so the student's seats are released and cached courses evicted
+        Set<Long> courseIds = EnrollmentLinks.courseIdsByStudent(
+                List.of(id), studentRepository::findEnrollmentLinksByStudentIds)
+                .getOrDefault(id, new HashSet<>());
+        enrollmentWriter.unlink(courseIds.stream()
+                .map(courseId -> new EnrollmentKey(id, courseId))
+                .collect(Collectors.toList()));
+        
         studentRepository.deleteById(id);
+        searchIndex.remove(id);
+        
+        cacheInvalidator.evictStudent(id);
     }
     
     public List<StudentDto> searchStudents(String searchTerm) {
+        return searchStudents(searchTerm, true);
+    }
+    
+    public List<StudentDto> searchStudents(String searchTerm, boolean withCourseIds) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return getAllStudents(withCourseIds);
+        }
+        
+        String trimmedTerm = searchTerm.trim();
+        if (!searchIndex.isReady()) {
+            // Index still building (or disabled): fall back to the substring scan
+            return convertToDtos(studentRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
+                    trimmedTerm, trimmedTerm), withCourseIds);
+        }
+        
+        // Only the best max-page-size hits; the paged search walks past them
+        SearchHits hits = searchIndex.search(trimmedTerm, 0, paginationSettings.getMaxPageSize());
+        return convertToDtos(findInRankOrder(hits.getIds()), withCourseIds);
+    }
+    
+    // Ranked IDs straight from the index, without touching the database
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Long> searchStudentIds(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return getAllStudents();
+            return getAllStudentIds();
+        }
+        
+        String trimmedTerm = searchTerm.trim();
+        if (!searchIndex.isReady()) {
+            return studentRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
+                    trimmedTerm, trimmedTerm).stream()
+                    .map(Student::getId)
+                    .collect(Collectors.toList());
+        }
+        
+        // Capped like searchStudents; the paged search walks past the cap
+        return searchIndex.search(trimmedTerm, 0, paginationSettings.getMaxPageSize()).getIds();
+    }
+    
+    public PageResponse<StudentDto> searchStudentsPage(String searchTerm, String cursor, Integer size) {
+        return searchStudentsPage(searchTerm, cursor, size, true);
+    }
+    
+    @Transactional(readOnly = true)
+    public PageResponse<StudentDto> searchStudentsPage(String searchTerm, String cursor, Integer size,
+                                                       boolean withCourseIds) {
+        PageResponse<Long> ids = searchStudentIdsPage(searchTerm, cursor, size);
+        return new PageResponse<>(convertToDtos(findInRankOrder(ids.getItems()), withCourseIds), ids.getNextCursor());
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageResponse<Long> searchStudentIdsPage(String searchTerm, String cursor, Integer size) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new ValidationException("Search term is required");
+        }
+        if (!searchIndex.isReady()) {
+            throw new ValidationException("Search index is not available yet");
+        }
+        int pageSize = paginationSettings.resolvePageSize(size);
+        // Ranked results have no stable key, so the cursor carries the offset
+        long offset = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor, 1)[0];
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new ValidationException("Invalid cursor: " + cursor);
         }
         
+        SearchHits hits = searchIndex.search(searchTerm.trim(), (int) offset, pageSize);
+        long next = offset + hits.getIds().size();
+        String nextCursor = next < hits.getTotal() ? KeysetCursor.encode(next) : null;
+        
+        return new PageResponse<>(hits.getIds(), nextCursor);
+    }
+    
+    // No transaction on the indexed path: suggestions are answered from memory
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Suggestion> suggestStudents(String searchTerm, Integer limit) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return List.of();
+        }
+        int suggestLimit = EntitySearchIndex.resolveSuggestLimit(limit);
         String trimmedTerm = searchTerm.trim();
-        return studentRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-                trimmedTerm, trimmedTerm)
-                .stream()
-                .map(this::convertToDto)
+        if (searchIndex.isReady()) {
+            return searchIndex.suggest(trimmedTerm, suggestLimit);
+        }
+        
+        return studentRepository.findByFirstNameStartingWithIgnoreCaseOrLastNameStartingWithIgnoreCaseOrEmailStartingWithIgnoreCase(
+                trimmedTerm, trimmedTerm, trimmedTerm, PageRequest.of(0, suggestLimit)).stream()
+                .map(student -> new Suggestion(student.getId(), searchIndex.labelOf(student)))
+                .collect(Collectors.toList());
+    }
+    
+    private List<Student> findInRankOrder(List<Long> ids) {
+        Map<Long, Student> byId = studentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Student::getId, student -> student));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
     
     public void enrollStudentInCourses(Long studentId, Set<Long> courseIds) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
         
+        // Validate all courses in one batched lookup
+        Set<Long> existingCourseIds = EnrollmentLinks.findExisting(courseIds, courseRepository::findExistingIds);
         for (Long courseId : courseIds) {
-            Course course = courseRepository.findById(courseId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
-            student.addCourse(course);
+            if (!existingCourseIds.contains(courseId)) {
+                throw new ResourceNotFoundException("Course not found with id: " + courseId);
+            }
         }
         
-        studentRepository.save(student);
+        enrollmentWriter.enroll(courseIds.stream()
+                .map(courseId -> new EnrollmentKey(studentId, courseId))
+                .collect(Collectors.toList()));
+    }
+    
+    // Every update moves the version exactly once, even when only enrollments change, so
+    // concurrent edits always collide and the response carries the next If-Match value.
+    // The forced step is a conditional UPDATE on the version, never a SELECT ... FOR UPDATE.
+    private void bumpVersion(Student student, Long versionBefore) {
+        entityManager.flush();
+        if (Objects.equals(student.getVersion(), versionBefore)) {
+            if (studentRepository.incrementVersion(student.getId(), versionBefore) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Student.class, student.getId());
+            }
+            entityManager.refresh(student);
+            // The version UPDATE raises no entity event, but listed DTOs carry the version
+            modificationCounters.touch(ModificationCounters.Table.STUDENTS);
+        }
     }
     
     private void updateStudentCourses(Student student, Set<Long> newCourseIds) {
-        // Remove all current enrollments
-        student.getCourses().clear();
+        Long studentId = student.getId();
+        Set<Long> currentCourseIds = EnrollmentLinks.courseIdsByStudent(
+                List.of(studentId), studentRepository::findEnrollmentLinksByStudentIds)
+                .getOrDefault(studentId, new HashSet<>());
         
-        // Add new enrollments
-        if (newCourseIds != null && !newCourseIds.isEmpty()) {
-            for (Long courseId : newCourseIds) {
-                Course course = courseRepository.findById(courseId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
-                student.addCourse(course);
-        }
+        // Only touch the join rows that actually change
+        Set<Long> addedCourseIds = new HashSet<>(newCourseIds);
+        addedCourseIds.removeAll(currentCourseIds);
+        Set<Long> removedCourseIds = new HashSet<>(currentCourseIds);
+        removedCourseIds.removeAll(newCourseIds);
+        
+        Set<Long> existingCourseIds = EnrollmentLinks.findExisting(addedCourseIds, courseRepository::findExistingIds);
+        for (Long courseId : addedCourseIds) {
+            if (!existingCourseIds.contains(courseId)) {
+                throw new ResourceNotFoundException("Course not found with id: " + courseId);
+            }
         }
+        
+        enrollmentWriter.unlink(removedCourseIds.stream()
+                .map(courseId -> new EnrollmentKey(studentId, courseId))
+                .collect(Collectors.toList()));
+        enrollmentWriter.link(addedCourseIds.stream()
+                .map(courseId -> new EnrollmentKey(studentId, courseId))
+                .collect(Collectors.toList()));
     }
     
-    private Student convertToEntity(StudentDto dto) {
+    // Package-private for DtoMappingBenchmark
+    Student convertToEntity(StudentDto dto) {
         Student student = new Student();
         student.setId(dto.getId());
         student.setFirstName(dto.getFirstName());
@@ -140,6 +391,34 @@ public class StudentService {
     }
     
     private StudentDto convertToDto(Student student) {
+        return convertToDtos(List.of(student)).get(0);
+    }
+    
+    // One query for the course IDs of the whole batch instead of one lazy load per student
+    private List<StudentDto> convertToDtos(List<Student> students) {
+        return convertToDtos(students, true);
+    }
+    
+    private List<StudentDto> convertToDtos(List<Student> students, boolean withCourseIds) {
+        if (!withCourseIds) {
+            return students.stream()
+                    .map(student -> convertToDto(student, null))
+                    .collect(Collectors.toList());
+        }
+        List<Long> studentIds = students.stream()
+                .map(Student::getId)
+                .collect(Collectors.toList());
+        Map<Long, Set<Long>> courseIdsByStudent = EnrollmentLinks.courseIdsByStudent(
+                studentIds, studentRepository::findEnrollmentLinksByStudentIds);
+        
+        List<StudentDto> dtos = new ArrayList<>(students.size());
+        for (Student student : students) {
+            dtos.add(convertToDto(student, courseIdsByStudent.getOrDefault(student.getId(), new HashSet<>())));
+        }
+        return dtos;
+    }
+    
+    StudentDto convertToDto(Student student, Set<Long> courseIds) {
         StudentDto dto = new StudentDto();
         dto.setId(student.getId());
         dto.setFirstName(student.getFirstName());
@@ -149,11 +428,7 @@ public class StudentService {
         dto.setPhoneNumber(student.getPhoneNumber());
         dto.setCreatedAt(student.getCreatedAt());
         dto.setUpdatedAt(student.getUpdatedAt());
-        
-        // Convert course IDs
-        Set<Long> courseIds = student.getCourses().stream()
-                .map(Course::getId)
-                .collect(Collectors.toSet());
+        dto.setVersion(student.getVersion());
         dto.setCourseIds(courseIds);
         
         return dto;
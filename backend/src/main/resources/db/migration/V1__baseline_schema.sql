@@ -0,0 +1,38 @@
+-- Baseline schema, matching what Hibernate generated from Student and Course
+-- plus a real primary key on the join table
+
+CREATE TABLE students (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    date_of_birth DATE         NOT NULL,
+    phone_number  VARCHAR(255),
+    created_at    DATE,
+    updated_at    DATE,
+    CONSTRAINT uk_students_email UNIQUE (email)
+);
+
+CREATE TABLE courses (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_code VARCHAR(255)   NOT NULL,
+    course_name VARCHAR(255)   NOT NULL,
+    description TEXT,
+    credits     INTEGER        NOT NULL,
+    price       NUMERIC(10, 2) NOT NULL,
+    start_date  DATE,
+    end_date    DATE,
+    is_active   BOOLEAN,
+    created_at  DATE,
+    updated_at  DATE,
+    CONSTRAINT uk_courses_course_code UNIQUE (course_code)
+);
+
+-- The primary key serves lookups by student; deleting either side removes its links
+CREATE TABLE student_courses (
+    student_id BIGINT NOT NULL,
+    course_id  BIGINT NOT NULL,
+    CONSTRAINT pk_student_courses PRIMARY KEY (student_id, course_id),
+    CONSTRAINT fk_student_courses_student FOREIGN KEY (student_id) REFERENCES students (id) ON DELETE CASCADE,
+    CONSTRAINT fk_student_courses_course FOREIGN KEY (course_id) REFERENCES courses (id) ON DELETE CASCADE
+);
@@ -0,0 +1,12 @@
+-- Reverse direction of the join table: findStudentsByCourseId, course rosters, enrollment pages by course
+CREATE INDEX idx_student_courses_course_student ON student_courses (course_id, student_id);
+
+-- findByIsActiveTrue; id keeps active courses in keyset order
+CREATE INDEX idx_courses_is_active ON courses (is_active, id);
+
+-- Name lookups and prefix matches on either name
+CREATE INDEX idx_students_last_name_first_name ON students (last_name, first_name);
+CREATE INDEX idx_students_first_name ON students (first_name);
+
+-- Course name prefix matches (course_code is already covered by its unique constraint)
+CREATE INDEX idx_courses_course_name ON courses (course_name);
@@ -0,0 +1,10 @@
+-- Optional seat limit per course (NULL = unlimited) and a denormalized count of taken seats.
+-- enrolled_count is only changed by conditional UPDATEs in EnrollmentRepository.
+ALTER TABLE courses ADD COLUMN capacity INTEGER;
+ALTER TABLE courses ADD COLUMN enrolled_count INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE courses c
+SET enrolled_count = (SELECT COUNT(*) FROM student_courses sc WHERE sc.course_id = c.id);
+
+ALTER TABLE courses ADD CONSTRAINT ck_courses_seats
+    CHECK (enrolled_count >= 0 AND (capacity IS NULL OR enrolled_count <= capacity));
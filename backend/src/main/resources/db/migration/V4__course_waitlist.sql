@@ -0,0 +1,13 @@
+-- FIFO waitlist per course; the identity column gives the queue order
+CREATE TABLE course_waitlist (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_id    BIGINT    NOT NULL,
+    student_id   BIGINT    NOT NULL,
+    requested_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_course_waitlist_course_student UNIQUE (course_id, student_id),
+    CONSTRAINT fk_course_waitlist_course FOREIGN KEY (course_id) REFERENCES courses (id) ON DELETE CASCADE,
+    CONSTRAINT fk_course_waitlist_student FOREIGN KEY (student_id) REFERENCES students (id) ON DELETE CASCADE
+);
+
+-- Head of a course's queue is the first entry of this index range
+CREATE INDEX idx_course_waitlist_course_position ON course_waitlist (course_id, id);
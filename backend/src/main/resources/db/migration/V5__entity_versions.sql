@@ -0,0 +1,3 @@
+-- Optimistic-locking versions; Hibernate adds "AND version = ?" to every student/course UPDATE.
+ALTER TABLE students ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE courses ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,6 @@
+-- Pooled id sequences for students and courses: Hibernate reserves 50 ids per call, so new rows
+-- can be inserted in JDBC batches (IDENTITY needs the generated key back after every row).
+-- The increment must match allocationSize on the entities. Migrations run on the empty in-memory
+-- schema before any data is loaded, so both sequences start at 1.
+CREATE SEQUENCE students_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE courses_seq START WITH 1 INCREMENT BY 50;
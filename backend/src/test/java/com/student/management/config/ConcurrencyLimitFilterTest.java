@@ -0,0 +1,96 @@
+package com.student.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void blockingRequest_ShouldReleaseItsPermitWhenTheChainReturns() throws Exception {
+        // Arrange
+        ConcurrencyLimitFilter filter = filter(1);
+        int[] seen = new int[1];
+        FilterChain chain = (request, response) -> seen[0] = filter.getAvailablePermits();
+
+        // Act
+        filter.doFilter(apiRequest("/api/students"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(0, seen[0]);
+        assertEquals(1, filter.getAvailablePermits());
+    }
+
+    @Test
+    void streamRequest_ShouldHoldAStreamPermitUntilTheResponseCompletes() throws Exception {
+        // Arrange
+        ConcurrencyLimitFilter filter = filter(1);
+        MockHttpServletRequest request = apiRequest("/api/students/stream");
+        request.setAsyncSupported(true);
+
+        // Act: the handler hands the body to another thread, like a StreamingResponseBody
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        // Assert: a second stream waits for the held permit and gives up
+        assertEquals(0, filter.getAvailableStreamPermits());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(apiRequest("/api/export/enrollments"), rejected, (req, res) -> fail("ran without a permit"));
+        assertEquals(503, rejected.getStatus());
+
+        request.getAsyncContext().complete();
+        assertEquals(1, filter.getAvailableStreamPermits());
+    }
+
+    @Test
+    void streamRequest_ShouldNotTakeThePermitsOfOrdinaryRequests() throws Exception {
+        // Arrange: a stream still writing its body
+        ConcurrencyLimitFilter filter = filter(1);
+        MockHttpServletRequest stream = apiRequest("/api/courses/stream");
+        stream.setAsyncSupported(true);
+        filter.doFilter(stream, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        boolean[] ran = new boolean[1];
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(apiRequest("/api/students"), response, (req, res) -> ran[0] = true);
+
+        // Assert
+        assertTrue(ran[0]);
+        assertEquals(200, response.getStatus());
+        assertEquals(1, filter.getAvailablePermits());
+        assertEquals(0, filter.getAvailableStreamPermits());
+    }
+
+    @Test
+    void unsetEnabled_ShouldFollowWhetherVirtualThreadsAreReallyActive() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+        // Act
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(null, 10, 2, Duration.ofSeconds(2), environment);
+
+        // Assert: the property alone does nothing below JDK 21, so neither does the limiter
+        assertEquals(JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE), filter.isEnabled());
+        assertFalse(new ConcurrencyLimitFilter(null, 10, 2, Duration.ofSeconds(2), new MockEnvironment()).isEnabled());
+    }
+
+    private static ConcurrencyLimitFilter filter(int permits) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                true, permits, permits, Duration.ofMillis(50), new MockEnvironment());
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        return filter;
+    }
+
+    private static MockHttpServletRequest apiRequest(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
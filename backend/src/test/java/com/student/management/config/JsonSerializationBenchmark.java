@@ -0,0 +1,93 @@
+package com.student.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.student.management.dto.CourseDto;
+import com.student.management.dto.EnrollmentResponse;
+import com.student.management.dto.StudentDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of the list responses, with the mapper configured as in the application
+// (ISO dates, the ?fields= filter mix-ins). Run with -Pjmh.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    
+    @Param({"100", "10000"})
+    public int size;
+    
+    private ObjectMapper objectMapper;
+    private List<StudentDto> students;
+    private List<CourseDto> courses;
+    private List<EnrollmentResponse> enrollments;
+    
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        new JacksonConfig().fieldSelectionCustomizer().customize(builder);
+        objectMapper = builder.build();
+        
+        students = new ArrayList<>(size);
+        courses = new ArrayList<>(size);
+        enrollments = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            StudentDto student = new StudentDto("First" + i, "Last" + i, "student" + i + "@email.com", LocalDate.of(2000, 1, 1));
+            student.setId(i);
+            student.setVersion(0L);
+            student.setCourseIds(Set.of(i % 50 + 1, (i + 1) % 50 + 1, (i + 2) % 50 + 1));
+            students.add(student);
+            
+            CourseDto course = new CourseDto();
+            course.setId(i);
+            course.setCourseCode("C" + i);
+            course.setCourseName("Benchmark Course " + i);
+            course.setCredits(3);
+            course.setPrice(new BigDecimal("199.99"));
+            course.setIsActive(true);
+            course.setStudentIds(Set.of(i, i + 1, i + 2, i + 3));
+            courses.add(course);
+            
+            enrollments.add(new EnrollmentResponse(null, i, i % 50 + 1, LocalDateTime.of(2025, 9, 1, 10, 0),
+                    "First" + i + " Last" + i, "Benchmark Course " + (i % 50 + 1)));
+        }
+    }
+    
+    @Benchmark
+    public byte[] students() throws Exception {
+        return objectMapper.writeValueAsBytes(students);
+    }
+    
+    @Benchmark
+    public byte[] courses() throws Exception {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+    
+    @Benchmark
+    public byte[] enrollments() throws Exception {
+        return objectMapper.writeValueAsBytes(enrollments);
+    }
+}
@@ -0,0 +1,124 @@
+package com.student.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.dto.EnrollmentResponse;
+import com.student.management.dto.StudentDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Bytes and encode time of a full roster pull (/api/students, /api/enrollments) in each wire
+// format, with the mappers the application registers. Run with -Pload-test.
+@Tag("load")
+@JsonTest
+@Import({JacksonConfig.class, WireFormatConfig.class})
+class WireFormatBenchmarkTest {
+    
+    private static final int STUDENTS = 10_000;
+    private static final int COURSES_PER_STUDENT = 3;
+    private static final int ROUNDS = 20;
+    
+    @Autowired
+    private ObjectMapper jsonMapper;
+    
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+    
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+    
+    @Test
+    void students() throws Exception {
+        List<StudentDto> students = new ArrayList<>(STUDENTS);
+        for (long i = 1; i <= STUDENTS; i++) {
+            StudentDto student = new StudentDto("First" + i, "Last" + i, "student" + i + "@example.com", LocalDate.of(2000, 1, 1));
+            student.setId(i);
+            student.setPhoneNumber("+1555" + (1_000_000 + i));
+            student.setCreatedAt(LocalDate.of(2024, 9, 1));
+            student.setUpdatedAt(LocalDate.of(2024, 9, 1));
+            student.setVersion(0L);
+            student.setCourseIds(Set.of(i % 50 + 1, (i + 1) % 50 + 1, (i + 2) % 50 + 1));
+            students.add(student);
+        }
+        compare("GET /api/students", students);
+        
+        StudentDto decoded = smileConverter.getObjectMapper().readValue(
+                smileConverter.getObjectMapper().writeValueAsBytes(students.get(0)), StudentDto.class);
+        assertEquals(students.get(0).getDateOfBirth(), decoded.getDateOfBirth());
+        assertEquals(students.get(0).getCourseIds(), decoded.getCourseIds());
+    }
+    
+    @Test
+    void enrollments() throws Exception {
+        List<EnrollmentResponse> enrollments = new ArrayList<>(STUDENTS * COURSES_PER_STUDENT);
+        long id = 1;
+        for (long student = 1; student <= STUDENTS; student++) {
+            for (long c = 0; c < COURSES_PER_STUDENT; c++) {
+                long course = (student + c) % 50 + 1;
+                enrollments.add(new EnrollmentResponse(id++, student, course, LocalDateTime.of(2024, 9, 1, 10, 0),
+                        "First" + student + " Last" + student, "Course " + course));
+            }
+        }
+        compare("GET /api/enrollments", enrollments);
+        
+        EnrollmentResponse decoded = cborConverter.getObjectMapper().readValue(
+                cborConverter.getObjectMapper().writeValueAsBytes(enrollments.get(0)), EnrollmentResponse.class);
+        assertEquals(enrollments.get(0).getEnrolledAt(), decoded.getEnrolledAt());
+    }
+    
+    private void compare(String label, Object body) throws IOException {
+        Sample json = measure(jsonMapper, body);
+        Sample cbor = measure(cborConverter.getObjectMapper(), body);
+        Sample smile = measure(smileConverter.getObjectMapper(), body);
+        
+        System.out.printf("[wire] %s%n", label);
+        print("json", json);
+        print("cbor", cbor);
+        print("smile", smile);
+        
+        assertTrue(cbor.bytes < json.bytes, "CBOR should be smaller than JSON");
+        assertTrue(smile.bytes < json.bytes, "Smile should be smaller than JSON");
+    }
+    
+    // Best of several rounds so JIT warm-up and GC pauses do not decide the result
+    private Sample measure(ObjectMapper mapper, Object body) throws IOException {
+        long best = Long.MAX_VALUE;
+        byte[] encoded = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            encoded = mapper.writeValueAsBytes(body);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        
+        long gzipStart = System.nanoTime();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(encoded);
+        }
+        return new Sample(encoded.length, best, compressed.size(), System.nanoTime() - gzipStart);
+    }
+    
+    private static void print(String format, Sample sample) {
+        System.out.printf("[wire]   %-6s %10d bytes  encode %7.1f ms  gzip %10d bytes (+%6.1f ms)%n",
+                format, sample.bytes, sample.encodeNanos / 1e6, sample.gzipBytes, sample.gzipNanos / 1e6);
+    }
+    
+    private record Sample(long bytes, long encodeNanos, long gzipBytes, long gzipNanos) {
+    }
+}
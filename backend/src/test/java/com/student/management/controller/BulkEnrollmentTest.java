@@ -0,0 +1,108 @@
+package com.student.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.dto.BulkEnrollmentRequest;
+import com.student.management.dto.EnrollmentRequest;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.StudentRepository;
+import com.student.management.service.EnrollmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// One request mixing every outcome: each pair gets its own status and the good pairs still go in
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulk-enrollment;LOCK_TIMEOUT=10000")
+@AutoConfigureMockMvc
+class BulkEnrollmentTest {
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Test
+    void bulkEnroll_ShouldReportAStatusPerPairInRequestOrder() throws Exception {
+        // Arrange
+        Long ada = student("ada");
+        Long alan = student("alan");
+        Long grace = student("grace");
+        Long open = course("BULK1", null, true);
+        Long oneSeat = course("BULK2", 1, true);
+        Long closed = course("BULK3", null, false);
+        enrollmentService.enrollStudentInCourse(alan, open);
+        List<EnrollmentRequest> pairs = List.of(
+                new EnrollmentRequest(ada, open),          // ENROLLED
+                new EnrollmentRequest(alan, open),         // ALREADY_ENROLLED
+                new EnrollmentRequest(MISSING_ID, open),   // STUDENT_NOT_FOUND
+                new EnrollmentRequest(ada, MISSING_ID),    // COURSE_NOT_FOUND
+                new EnrollmentRequest(ada, closed),        // COURSE_INACTIVE
+                new EnrollmentRequest(ada, open),          // DUPLICATE_REQUEST
+                new EnrollmentRequest(grace, oneSeat),     // ENROLLED, takes the only seat
+                new EnrollmentRequest(ada, oneSeat));      // COURSE_FULL
+
+        // Act & Assert
+        mockMvc.perform(post("/api/enrollments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkEnrollmentRequest(pairs))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(8))
+                .andExpect(jsonPath("$.enrolled").value(2))
+                .andExpect(jsonPath("$.failed").value(6))
+                .andExpect(jsonPath("$.results[*].status").value(contains(
+                        "ENROLLED", "ALREADY_ENROLLED", "STUDENT_NOT_FOUND", "COURSE_NOT_FOUND",
+                        "COURSE_INACTIVE", "DUPLICATE_REQUEST", "ENROLLED", "COURSE_FULL")))
+                .andExpect(jsonPath("$.results[2].message").value("Student not found with id: " + MISSING_ID))
+                .andExpect(jsonPath("$.results[3].message").value("Course not found with id: " + MISSING_ID));
+
+        // Only the two ENROLLED pairs were written
+        assertEquals(2, courseRepository.findById(open).orElseThrow().getEnrolledCount());
+        assertEquals(1, courseRepository.findById(oneSeat).orElseThrow().getEnrolledCount());
+        assertEquals(0, courseRepository.findById(closed).orElseThrow().getEnrolledCount());
+    }
+
+    @Test
+    void bulkEnroll_WithEmptyList_ShouldAnswer400() throws Exception {
+        mockMvc.perform(post("/api/enrollments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enrollments\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long student(String name) {
+        return studentRepository.save(new Student(name, "Bulk", name + "-bulk@email.com", LocalDate.of(2000, 1, 1))).getId();
+    }
+
+    private Long course(String code, Integer capacity, boolean active) {
+        Course course = new Course(code, "Bulk " + code, 3, BigDecimal.TEN);
+        course.setCapacity(capacity);
+        course.setIsActive(active);
+        return courseRepository.save(course).getId();
+    }
+}
@@ -0,0 +1,133 @@
+package com.student.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.dto.EnrollmentRequest;
+import com.student.management.dto.StudentDto;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.metrics.RequestStatementMetricsFilter;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.StudentRepository;
+import com.student.management.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Writes here commit for real, so the modification counters move exactly as they do in production.
+// X-SQL-Statements shows that a 304 is answered without touching the database.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-get;LOCK_TIMEOUT=10000",
+        "app.sql-budget.header-enabled=true"
+})
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    private Long studentId;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        int n = SEQUENCE.incrementAndGet();
+        studentId = studentRepository.save(
+                new Student("Etag", "Student", "etag" + n + "@email.com", LocalDate.of(2000, 1, 1))).getId();
+        courseId = courseRepository.save(new Course("ETAG" + n, "Etag Course", 3, new BigDecimal("50.00"))).getId();
+    }
+
+    @Test
+    void unchangedListAnswers304WithoutQuerying() throws Exception {
+        for (String path : new String[] {"/api/students", "/api/courses", "/api/enrollments"}) {
+            String etag = etagOf(path);
+            mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(header().string(RequestStatementMetricsFilter.STATEMENTS_HEADER, "0"))
+                    .andExpect(content().string(""));
+        }
+    }
+
+    @Test
+    void enrollmentWriteChangesTheTags() throws Exception {
+        String students = etagOf("/api/students");
+        String courses = etagOf("/api/courses");
+        String enrollments = etagOf("/api/enrollments");
+
+        EnrollmentRequest request = new EnrollmentRequest(studentId, courseId);
+        mockMvc.perform(post("/api/enrollments/enroll")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // Student and course DTOs carry the membership ids, enrollment rows the pair itself
+        assertChanged("/api/students", students);
+        assertChanged("/api/courses", courses);
+        assertChanged("/api/enrollments", enrollments);
+    }
+
+    @Test
+    void entityUpdateChangesTheTags() throws Exception {
+        String students = etagOf("/api/students");
+        String enrollments = etagOf("/api/enrollments");
+
+        StudentDto student = studentService.getStudentById(studentId);
+        student.setFirstName("Renamed");
+        student.setCourseIds(null);
+        mockMvc.perform(put("/api/students/" + studentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(student)))
+                .andExpect(status().isOk());
+
+        // Enrollment rows show student names
+        assertChanged("/api/students", students);
+        assertChanged("/api/enrollments", enrollments);
+    }
+
+    private String etagOf(String path) throws Exception {
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag, path + " sent no ETag");
+        return etag;
+    }
+
+    // The old tag no longer matches, so the client gets the new list
+    private void assertChanged(String path, String oldEtag) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, oldEtag))
+                .andExpect(status().isOk());
+        assertNotEquals(oldEtag, etagOf(path), path);
+    }
+}
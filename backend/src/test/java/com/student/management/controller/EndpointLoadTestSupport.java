@@ -0,0 +1,173 @@
+package com.student.management.controller;
+
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.EnrollmentKey;
+import com.student.management.repository.StudentRepository;
+import com.student.management.service.EnrollmentWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Drives the hot read endpoints with many concurrent clients and prints throughput and
+// latency percentiles; subclasses pick the request-thread mode. Run with -Pload-test.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class EndpointLoadTestSupport {
+
+    private static final int STUDENTS = 2_000;
+    private static final int COURSES = 50;
+    private static final int COURSES_PER_STUDENT = 3;
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentWriter enrollmentWriter;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private List<Long> studentIds;
+
+    protected abstract String mode();
+
+    // The context is shared by every test of a subclass, so seed only once
+    @BeforeEach
+    void seed() {
+        if (studentRepository.count() < STUDENTS) {
+            List<Course> courses = new ArrayList<>();
+            for (int i = 0; i < COURSES; i++) {
+                courses.add(new Course("LOAD" + i, "Load Course " + i, 3, BigDecimal.TEN));
+            }
+            courses = courseRepository.saveAll(courses);
+
+            List<Student> students = new ArrayList<>();
+            for (int i = 0; i < STUDENTS; i++) {
+                students.add(new Student("Load" + i, "Student" + i, "load" + i + "@example.com", LocalDate.of(2000, 1, 1)));
+            }
+            students = studentRepository.saveAll(students);
+
+            List<EnrollmentKey> keys = new ArrayList<>();
+            for (int i = 0; i < students.size(); i++) {
+                for (int c = 0; c < COURSES_PER_STUDENT; c++) {
+                    keys.add(new EnrollmentKey(students.get(i).getId(), courses.get((i + c) % COURSES).getId()));
+                }
+            }
+            enrollmentWriter.link(keys);
+        }
+        studentIds = studentRepository.findAll().stream().map(Student::getId).toList();
+    }
+
+    @Test
+    void studentsPage() throws Exception {
+        run("GET /api/students/page", i -> "/api/students/page?size=50");
+    }
+
+    @Test
+    void studentById() throws Exception {
+        run("GET /api/students/{id}", i -> "/api/students/" + studentIds.get(i % studentIds.size()));
+    }
+
+    @Test
+    void enrollmentsPage() throws Exception {
+        run("GET /api/enrollments/page", i -> "/api/enrollments/page?size=50");
+    }
+
+    @Test
+    void studentEnrollments() throws Exception {
+        run("GET /api/enrollments/student/{id}", i -> "/api/enrollments/student/" + studentIds.get(i % studentIds.size()));
+    }
+
+    private void run(String label, PathForRequest paths) throws Exception {
+        // One warm-up round so JIT and caches do not skew the measured one
+        measure(paths);
+        Result result = measure(paths);
+
+        long[] latencies = result.latencyNanos;
+        Arrays.sort(latencies);
+        double seconds = result.elapsedNanos / 1e9;
+        System.out.printf("[load] %-8s %-34s %6d req  %8.0f req/s  p50 %6.1f ms  p99 %6.1f ms  errors %d%n",
+                mode(), label, latencies.length, latencies.length / seconds,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6, result.errors);
+        assertEquals(0, result.errors, "non-200 responses for " + label);
+    }
+
+    private Result measure(PathForRequest paths) throws Exception {
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        long[] latencies = new long[total];
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientIndex = c;
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        int i = clientIndex * REQUESTS_PER_CLIENT + r;
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + paths.forRequest(i))).GET().build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return new Result(latencies, System.nanoTime() - start, errors.get());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    @FunctionalInterface
+    private interface PathForRequest {
+        String forRequest(int index);
+    }
+
+    private record Result(long[] latencyNanos, long elapsedNanos, int errors) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.student.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.StudentRepository;
+import com.student.management.service.EnrollmentService;
+import com.student.management.service.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:keyset-pagination;LOCK_TIMEOUT=10000")
+@AutoConfigureMockMvc
+class KeysetPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Test
+    void studentsPage_WalkedToTheEnd_ShouldReturnEveryRowOnceInIdOrder() throws Exception {
+        // Arrange
+        for (int i = 0; i < 7; i++) {
+            studentRepository.save(new Student("Page", "Walker" + i, "walker" + i + "@email.com", LocalDate.of(2000, 1, 1)));
+        }
+        List<Long> expected = studentRepository.findAll().stream()
+                .map(Student::getId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        // Act
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        JsonNode page;
+        do {
+            page = page("/api/students/page?size=3" + (cursor == null ? "" : "&cursor=" + cursor));
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            // Every page but the last is full and says so
+            if (cursor != null) {
+                assertEquals(3, page.get("size").asInt());
+                assertTrue(page.get("hasMore").asBoolean());
+            }
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(expected, seen);
+        assertFalse(page.get("hasMore").asBoolean());
+        assertTrue(page.get("size").asInt() >= 1 && page.get("size").asInt() <= 3);
+    }
+
+    @Test
+    void studentsPage_AtTheExactBoundary_ShouldNotPromiseAnotherPage() throws Exception {
+        // Arrange
+        int total = (int) studentRepository.count();
+
+        // Act & Assert: all rows in one page leaves nothing to fetch
+        JsonNode all = page("/api/students/page?size=" + total);
+        assertEquals(total, all.get("size").asInt());
+        assertFalse(all.get("hasMore").asBoolean());
+        assertTrue(all.get("nextCursor").isNull());
+
+        // One row short: the next page holds exactly the last row and ends there
+        JsonNode first = page("/api/students/page?size=" + (total - 1));
+        assertTrue(first.get("hasMore").asBoolean());
+        JsonNode last = page("/api/students/page?size=" + (total - 1) + "&cursor=" + first.get("nextCursor").asText());
+        assertEquals(1, last.get("size").asInt());
+        assertFalse(last.get("hasMore").asBoolean());
+        assertTrue(last.get("nextCursor").isNull());
+
+        // A cursor past the last row is an empty final page, not an error
+        long maxId = all.get("items").get(total - 1).get("id").asLong();
+        JsonNode past = page("/api/students/page?cursor=" + KeysetCursor.encode(maxId));
+        assertEquals(0, past.get("size").asInt());
+        assertFalse(past.get("hasMore").asBoolean());
+    }
+
+    @Test
+    void page_WithMalformedOrTamperedCursor_ShouldAnswer400() throws Exception {
+        List<String> badCursors = List.of(
+                "not a cursor!",                              // not Base64
+                encodeRaw("abc"),                             // not a number
+                encodeRaw("1:2"),                             // two keys where one is expected
+                encodeRaw("99999999999999999999"));           // does not fit a long
+        for (String cursor : badCursors) {
+            for (String path : List.of("/api/students/page", "/api/courses/page")) {
+                mockMvc.perform(get(path).param("cursor", cursor))
+                        .andExpect(status().isBadRequest())
+                        .andExpect(jsonPath("$.status").value(400));
+            }
+        }
+    }
+
+    @Test
+    void enrollmentsPage_ShouldOrderByStudentThenCourseAcrossPageBreaks() throws Exception {
+        // Arrange: each student holds three courses, so a student's rows straddle a page of two
+        List<Long> courseIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            courseIds.add(courseRepository.save(new Course("KEY" + i, "Keyset " + i, 3, BigDecimal.TEN)).getId());
+        }
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long studentId = studentRepository.save(new Student("Enrolled", "Walker" + i,
+                    "enrolled-walker" + i + "@email.com", LocalDate.of(2000, 1, 1))).getId();
+            studentIds.add(studentId);
+            // Reverse course order, so insertion order is not the expected order
+            for (int j = courseIds.size() - 1; j >= 0; j--) {
+                enrollmentService.enrollStudentInCourse(studentId, courseIds.get(j));
+            }
+        }
+
+        // Act
+        List<long[]> all = walkEnrollments("");
+        List<long[]> oneStudent = walkEnrollments("&studentId=" + studentIds.get(1));
+
+        // Assert: strictly increasing (student_id, course_id), so nothing is repeated or skipped
+        Comparator<long[]> byKey = Comparator.<long[]>comparingLong(key -> key[0]).thenComparingLong(key -> key[1]);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(byKey.compare(all.get(i - 1), all.get(i)) < 0, "out of order at row " + i);
+        }
+        assertEquals(enrollmentService.getAllEnrollments().size(), all.size());
+        assertEquals(3, oneStudent.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(studentIds.get(1), oneStudent.get(i)[0]);
+            assertEquals(courseIds.get(i), oneStudent.get(i)[1]);
+        }
+    }
+
+    @Test
+    void enrollmentsPage_WithASingleKeyCursor_ShouldAnswer400() throws Exception {
+        mockMvc.perform(get("/api/enrollments/page").param("cursor", KeysetCursor.encode(1L)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<long[]> walkEnrollments(String filter) throws Exception {
+        List<long[]> keys = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = page("/api/enrollments/page?size=2" + filter + (cursor == null ? "" : "&cursor=" + cursor));
+            page.get("items").forEach(item ->
+                    keys.add(new long[] {item.get("studentId").asLong(), item.get("courseId").asLong()}));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        return keys;
+    }
+
+    private JsonNode page(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,106 @@
+package com.student.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.dto.StudentDto;
+import com.student.management.entity.Student;
+import com.student.management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two clients read the same version; the first PUT wins and the second gets 412 instead of
+// silently overwriting it
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:optimistic-update;LOCK_TIMEOUT=10000")
+@AutoConfigureMockMvc
+class OptimisticUpdateTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        studentId = studentRepository.save(new Student("Version", "Student",
+                "version" + SEQUENCE.incrementAndGet() + "@email.com", LocalDate.of(2000, 1, 1))).getId();
+    }
+
+    @Test
+    void putWithStaleIfMatch_ShouldAnswer412AndKeepTheWinningWrite() throws Exception {
+        // Arrange: both clients read the same version
+        String etag = mockMvc.perform(get("/api/students/" + studentId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act: the first write wins and moves the version on
+        String newEtag = mockMvc.perform(put("/api/students/" + studentId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("First")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+
+        // Assert: the second write still names the old version
+        mockMvc.perform(put("/api/students/" + studentId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Second")))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+        mockMvc.perform(get("/api/students/" + studentId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, newEtag))
+                .andExpect(jsonPath("$.firstName").value("First"));
+    }
+
+    @Test
+    void putWithMalformedIfMatch_ShouldAnswer412() throws Exception {
+        mockMvc.perform(put("/api/students/" + studentId)
+                        .header(HttpHeaders.IF_MATCH, "not-a-tag")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Other")))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void putWithoutIfMatch_ShouldApplyUnconditionally() throws Exception {
+        mockMvc.perform(put("/api/students/" + studentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Unconditional")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Unconditional"));
+    }
+
+    private String body(String firstName) throws Exception {
+        StudentDto student = new StudentDto();
+        student.setFirstName(firstName);
+        student.setLastName("Student");
+        student.setEmail(studentRepository.findById(studentId).orElseThrow().getEmail());
+        student.setDateOfBirth(LocalDate.of(2000, 1, 1));
+        return objectMapper.writeValueAsString(student);
+    }
+}
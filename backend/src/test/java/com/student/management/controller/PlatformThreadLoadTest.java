@@ -0,0 +1,17 @@
+package com.student.management.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Tomcat's default platform-thread pool; the concurrency limiter stays off
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        // Own database, so the sample data loader does not collide with the other mode's context
+        "spring.datasource.url=jdbc:h2:mem:load-platform;LOCK_TIMEOUT=10000"
+})
+class PlatformThreadLoadTest extends EndpointLoadTestSupport {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
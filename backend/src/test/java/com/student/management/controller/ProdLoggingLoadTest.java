@@ -0,0 +1,22 @@
+package com.student.management.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+// Same platform-thread setup as PlatformThreadLoadTest but with the prod profile's logging
+// (no SQL echo or parameter tracing, async JSON appender); the two "[load]" blocks side by
+// side show what the development logging costs. Logging is reconfigured per context, so each
+// class measures under its own settings.
+@ActiveProfiles("prod")
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        // Own database, so the sample data loader does not collide with the other mode's context
+        "spring.datasource.url=jdbc:h2:mem:load-prod-logging;LOCK_TIMEOUT=10000"
+})
+class ProdLoggingLoadTest extends EndpointLoadTestSupport {
+
+    @Override
+    protected String mode() {
+        return "prod-log";
+    }
+}
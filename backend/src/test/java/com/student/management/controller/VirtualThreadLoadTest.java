@@ -0,0 +1,20 @@
+package com.student.management.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+// One virtual thread per request, bounded by the pool-sized concurrency limiter
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        // Own database, so the sample data loader does not collide with the other mode's context
+        "spring.datasource.url=jdbc:h2:mem:load-virtual;LOCK_TIMEOUT=10000"
+})
+class VirtualThreadLoadTest extends EndpointLoadTestSupport {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,275 @@
+package com.student.management.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.student.management.config.SyntheticDataGenerator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Replays a mixed read/write workload against a running server and reports throughput and
+// latency percentiles per operation. The request sequence depends only on the seed and the
+// client count, so two runs against the same dataset (e.g. the synthetic profile with the same
+// seed) send the same requests. Unenroll only removes pairs the same client enrolled earlier.
+//
+//   mvn test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.student.management.load.LoadDriver \
+//       -Dexec.args="http://localhost:8080 50 200 42"
+public final class LoadDriver {
+
+    public enum Operation {
+        LIST_PAGE(30), GET_BY_ID(25), SEARCH_PAGE(25), ENROLL(12), UNENROLL(8);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(Operation.values()).mapToInt(op -> op.weight).sum();
+
+    private final String baseUrl;
+    private final int clients;
+    private final int requestsPerClient;
+    private final long seed;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public LoadDriver(String baseUrl, int clients, int requestsPerClient, long seed) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.clients = clients;
+        this.requestsPerClient = requestsPerClient;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        Report report = new LoadDriver(baseUrl, clients, requests, seed).run();
+        report.print(System.out);
+        if (report.total().getTransportErrors() > 0 || report.total().getServerErrors() > 0) {
+            System.exit(1);
+        }
+    }
+
+    public Report run() throws Exception {
+        // Ids sorted, so the seeded picks do not depend on the order the server returned them in
+        long[] studentIds = fetchIds("/api/students?fields=ids-only");
+        long[] courseIds = fetchIds("/api/courses?fields=ids-only");
+        if (studentIds.length == 0 || courseIds.length == 0) {
+            throw new IllegalStateException("No students or courses at " + baseUrl + "; seed the database first");
+        }
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<SplittableRandom> randoms = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            randoms.add(root.split());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Map<Operation, Tally>>> futures = new ArrayList<>(clients);
+            long start = System.nanoTime();
+            for (SplittableRandom random : randoms) {
+                futures.add(pool.submit(() -> runClient(random, studentIds, courseIds)));
+            }
+            Map<Operation, Tally> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, Tally>> future : futures) {
+                future.get().forEach((op, tally) -> merged.computeIfAbsent(op, o -> new Tally()).add(tally));
+            }
+            return new Report(merged, System.nanoTime() - start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Map<Operation, Tally> runClient(SplittableRandom random, long[] studentIds, long[] courseIds) {
+        Map<Operation, Tally> tallies = new EnumMap<>(Operation.class);
+        Deque<long[]> enrolled = new ArrayDeque<>();
+        for (int r = 0; r < requestsPerClient; r++) {
+            Operation op = pick(random);
+            if (op == Operation.UNENROLL && enrolled.isEmpty()) {
+                op = Operation.ENROLL;
+            }
+            long studentId = studentIds[random.nextInt(studentIds.length)];
+            long courseId = courseIds[random.nextInt(courseIds.length)];
+            HttpRequest request = switch (op) {
+                case LIST_PAGE -> get("/api/students/page?size=50&fields=id,firstName,lastName,email");
+                case GET_BY_ID -> get("/api/students/" + studentId);
+                case SEARCH_PAGE -> get("/api/students/search/page?size=20&q=" + searchPrefix(random));
+                case ENROLL -> post("/api/enrollments/enroll",
+                        "{\"studentId\":" + studentId + ",\"courseId\":" + courseId + "}");
+                case UNENROLL -> {
+                    long[] pair = enrolled.pollFirst();
+                    yield request("/api/enrollments/unenroll/" + pair[0] + "/" + pair[1]).DELETE().build();
+                }
+            };
+
+            Tally tally = tallies.computeIfAbsent(op, o -> new Tally());
+            long sent = System.nanoTime();
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                tally.record(System.nanoTime() - sent, status);
+                if (op == Operation.ENROLL && status == 200) {
+                    enrolled.addLast(new long[] {studentId, courseId});
+                }
+            } catch (IOException e) {
+                tally.recordTransportError(System.nanoTime() - sent);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return tallies;
+    }
+
+    private static Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (Operation op : Operation.values()) {
+            roll -= op.weight;
+            if (roll < 0) {
+                return op;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    // Name prefixes the synthetic generator draws from, so searches hit real rows
+    private static String searchPrefix(SplittableRandom random) {
+        List<String> names = random.nextBoolean() ? SyntheticDataGenerator.FIRST_NAMES : SyntheticDataGenerator.LAST_NAMES;
+        String name = names.get(random.nextInt(names.size()));
+        return name.substring(0, Math.min(name.length(), random.nextInt(2, 6))).toLowerCase();
+    }
+
+    private long[] fetchIds(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(get(path), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+        List<Long> ids = objectMapper.readValue(response.body(), new TypeReference<List<Long>>() { });
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    // Latencies and outcomes of one operation; merged across clients once they finish
+    public static final class Tally {
+        private long[] latencyNanos = new long[64];
+        private int count;
+        private int clientErrors;
+        private int serverErrors;
+        private int transportErrors;
+
+        void record(long nanos, int status) {
+            addLatency(nanos);
+            if (status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        void recordTransportError(long nanos) {
+            addLatency(nanos);
+            transportErrors++;
+        }
+
+        void add(Tally other) {
+            for (int i = 0; i < other.count; i++) {
+                addLatency(other.latencyNanos[i]);
+            }
+            clientErrors += other.clientErrors;
+            serverErrors += other.serverErrors;
+            transportErrors += other.transportErrors;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getClientErrors() {
+            return clientErrors;
+        }
+
+        public int getServerErrors() {
+            return serverErrors;
+        }
+
+        public int getTransportErrors() {
+            return transportErrors;
+        }
+
+        private void addLatency(long nanos) {
+            if (count == latencyNanos.length) {
+                latencyNanos = Arrays.copyOf(latencyNanos, count * 2);
+            }
+            latencyNanos[count++] = nanos;
+        }
+
+        private double percentileMillis(double fraction) {
+            long[] sorted = Arrays.copyOf(latencyNanos, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(fraction * count) - 1;
+            return count == 0 ? 0 : sorted[Math.max(0, Math.min(index, count - 1))] / 1e6;
+        }
+    }
+
+    public static final class Report {
+        private final Map<Operation, Tally> tallies;
+        private final long elapsedNanos;
+
+        Report(Map<Operation, Tally> tallies, long elapsedNanos) {
+            this.tallies = tallies;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Tally total() {
+            Tally total = new Tally();
+            tallies.values().forEach(total::add);
+            return total;
+        }
+
+        public void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            tallies.forEach((op, tally) -> line(out, op.name(), tally, seconds));
+            line(out, "TOTAL", total(), seconds);
+        }
+
+        private static void line(PrintStream out, String label, Tally tally, double seconds) {
+            out.printf("[load] %-12s %7d req  %8.0f req/s  p50 %7.1f ms  p95 %7.1f ms  p99 %7.1f ms  4xx %d  5xx %d  errors %d%n",
+                    label, tally.count, tally.count / seconds, tally.percentileMillis(0.50),
+                    tally.percentileMillis(0.95), tally.percentileMillis(0.99),
+                    tally.clientErrors, tally.serverErrors, tally.transportErrors);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.student.management.load;
+
+import com.student.management.search.StudentSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The load driver against a small synthetic dataset; the same seed replays the same traffic.
+// Rejected enrollments (full or inactive course, already enrolled) are expected 4xx answers.
+// Run with -Pload-test.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("synthetic")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:load-mixed;LOCK_TIMEOUT=10000",
+        "app.synthetic.students=20000",
+        "app.synthetic.courses=200",
+        "app.synthetic.seed=7"
+})
+class MixedTrafficLoadTest {
+
+    private static final int CLIENTS = 100;
+    private static final int REQUESTS_PER_CLIENT = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Test
+    void mixedTraffic() throws Exception {
+        // The index is rebuilt asynchronously once the application is ready
+        for (int i = 0; i < 300 && !studentSearchIndex.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(studentSearchIndex.isReady(), "search index not ready");
+
+        LoadDriver.Report report = new LoadDriver("http://localhost:" + port, CLIENTS, REQUESTS_PER_CLIENT, 42).run();
+        report.print(System.out);
+
+        LoadDriver.Tally total = report.total();
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, total.getCount());
+        assertEquals(0, total.getTransportErrors(), "transport errors");
+        assertEquals(0, total.getServerErrors(), "5xx responses");
+    }
+}
@@ -0,0 +1,44 @@
+package com.student.management.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tests normally swap in a simple registry; @AutoConfigureObservability keeps the Prometheus one
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics;LOCK_TIMEOUT=10000")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exposesRequestStatementPoolAndCacheMetrics() throws Exception {
+        mockMvc.perform(get("/api/students")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/page")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertContains(scrape, "http_server_requests_seconds_bucket{");
+        assertContains(scrape, "uri=\"/api/students/page\"");
+        assertContains(scrape, "db_statements_per_request_statements_bucket{");
+        assertContains(scrape, "db_time_per_request_seconds_bucket{");
+        assertContains(scrape, "jdbc_statements_seconds_count");
+        assertContains(scrape, "hikaricp_connections_acquire_seconds_bucket{");
+        assertContains(scrape, "cache_gets_total{");
+    }
+
+    private static void assertContains(String scrape, String expected) {
+        assertTrue(scrape.contains(expected), "scrape is missing " + expected);
+    }
+}
@@ -0,0 +1,131 @@
+package com.student.management.metrics;
+
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.StudentRepository;
+import com.student.management.search.CourseSearchIndex;
+import com.student.management.search.StudentSearchIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Budgets fail the request (500) here, so an N+1 regression in a budgeted read fails this test.
+// The sample data has several students per course and several courses per student.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget;LOCK_TIMEOUT=10000",
+        "app.sql-budget.mode=fail",
+        "app.sql-budget.header-enabled=true"
+})
+@AutoConfigureMockMvc
+@Import(SqlBudgetTest.OverBudgetController.class)
+class SqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    private Long studentId;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        studentId = studentRepository.findAllIds().get(0);
+        courseId = courseRepository.findAllIds().get(0);
+        // The indexes are rebuilt asynchronously once the application is ready
+        for (int i = 0; i < 100 && !(studentSearchIndex.isReady() && courseSearchIndex.isReady()); i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void studentReadsStayWithinBudget() throws Exception {
+        assertWithinBudget("/api/students", 2);
+        assertWithinBudget("/api/students/page?size=2", 2);
+        assertWithinBudget("/api/students/" + studentId, 2);
+        assertWithinBudget("/api/students/search?q=a", 2);
+        assertWithinBudget("/api/students/search/page?q=a", 2);
+    }
+
+    @Test
+    void courseReadsStayWithinBudget() throws Exception {
+        assertWithinBudget("/api/courses", 2);
+        assertWithinBudget("/api/courses/page?size=2", 2);
+        assertWithinBudget("/api/courses/active", 2);
+        assertWithinBudget("/api/courses/" + courseId, 2);
+        assertWithinBudget("/api/courses/search?q=a", 2);
+        assertWithinBudget("/api/courses/search/page?q=a", 2);
+    }
+
+    @Test
+    void enrollmentAndStatsReadsStayWithinBudget() throws Exception {
+        assertWithinBudget("/api/enrollments", 1);
+        assertWithinBudget("/api/enrollments/page", 1);
+        assertWithinBudget("/api/enrollments/student/" + studentId, 2);
+        assertWithinBudget("/api/enrollments/course/" + courseId, 2);
+        assertWithinBudget("/api/enrollments/waitlist/" + courseId, 2);
+        assertWithinBudget("/api/stats", 0);
+    }
+
+    @Test
+    void overrunAnswers500BeforeTheBodyIsWritten() throws Exception {
+        double before = exceededCount();
+        mockMvc.perform(get("/api/test/over-budget"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().string(RequestStatementMetricsFilter.STATEMENTS_HEADER, "2"));
+        assertEquals(before + 1, exceededCount());
+    }
+
+    private double exceededCount() {
+        Counter counter = meterRegistry.find("sql.budget.exceeded").tag("uri", "/api/test/over-budget").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void assertWithinBudget(String path, int budget) throws Exception {
+        String count = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(RequestStatementMetricsFilter.STATEMENTS_HEADER))
+                .andReturn().getResponse().getHeader(RequestStatementMetricsFilter.STATEMENTS_HEADER);
+        assertTrue(Integer.parseInt(count) <= budget, path + " ran " + count + " statements");
+    }
+
+    // Two independent queries against a budget of one
+    @RestController
+    static class OverBudgetController {
+
+        @Autowired
+        private StudentRepository studentRepository;
+
+        @SqlBudget(1)
+        @GetMapping("/api/test/over-budget")
+        long overBudget() {
+            return studentRepository.count() + studentRepository.count();
+        }
+    }
+}
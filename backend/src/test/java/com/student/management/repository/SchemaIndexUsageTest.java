@@ -0,0 +1,66 @@
+package com.student.management.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against the Flyway-created schema and checks H2's plans for the hot lookups
+@DataJpaTest
+class SchemaIndexUsageTest {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void findByIsActiveTrue_ShouldUseActiveIndex() {
+        String plan = explain("SELECT c.id, c.course_name FROM courses c WHERE c.is_active = TRUE");
+        
+        assertTrue(plan.contains("IDX_COURSES_IS_ACTIVE"), plan);
+    }
+    
+    @Test
+    void findStudentsByCourseId_ShouldUseReverseJoinIndex() {
+        String plan = explain("SELECT s.id, s.last_name FROM students s "
+                + "JOIN student_courses sc ON s.id = sc.student_id WHERE sc.course_id = 1");
+        
+        assertTrue(plan.contains("IDX_STUDENT_COURSES_COURSE_STUDENT"), plan);
+    }
+    
+    @Test
+    void courseRoster_ShouldUseReverseJoinIndex() {
+        String plan = explain("SELECT sc.student_id FROM student_courses sc WHERE sc.course_id = 1");
+        
+        assertTrue(plan.contains("IDX_STUDENT_COURSES_COURSE_STUDENT"), plan);
+    }
+    
+    @Test
+    void lastNameLookup_ShouldUseNameIndex() {
+        String plan = explain("SELECT s.id FROM students s WHERE s.last_name = 'Doe'");
+        
+        assertTrue(plan.contains("IDX_STUDENTS_LAST_NAME_FIRST_NAME"), plan);
+    }
+    
+    @Test
+    void firstNamePrefix_ShouldUseNameIndex() {
+        String plan = explain("SELECT s.id FROM students s WHERE s.first_name LIKE 'Jo%'");
+        
+        assertTrue(plan.contains("IDX_STUDENTS_FIRST_NAME"), plan);
+    }
+    
+    @Test
+    void joinTable_ShouldHaveCompositePrimaryKey() {
+        Integer columns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE "
+                        + "WHERE TABLE_NAME = 'STUDENT_COURSES' AND CONSTRAINT_NAME = 'PK_STUDENT_COURSES'",
+                Integer.class);
+        
+        assertEquals(2, columns);
+    }
+    
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+}
@@ -0,0 +1,90 @@
+package com.student.management.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntitySearchIndexTest {
+
+    private final NameIndex index = new NameIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @Test
+    void load_WhenWritesCommitDuringTheBuild_ShouldKeepTheLatestVersionOfEachRow() {
+        // Arrange: the build's cursor already holds ada and bob when the writes below commit
+        Stream<Name> rows = Stream.of(new Name(1L, "ada"), new Name(2L, "bob"));
+        boolean[] written = new boolean[1];
+
+        // Act
+        index.load(rows, row -> {
+            if (!written[0]) {
+                written[0] = true;
+                index.put(new Name(1L, "adeline"));
+                index.remove(2L);
+                index.put(new Name(3L, "cy"));
+            }
+        });
+
+        // Assert: the stale rows the build read do not overwrite the newer writes
+        assertEquals(List.of(1L), index.search("adeline", 0, 10).getIds());
+        assertEquals(List.of(), index.search("ada", 0, 10).getIds());
+        assertEquals(List.of(), index.search("bob", 0, 10).getIds());
+        assertEquals(List.of(3L), index.search("cy", 0, 10).getIds());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void load_ShouldKeepServingTheOldIndexUntilTheNewOneIsComplete() {
+        // Arrange
+        index.load(Stream.of(new Name(9L, "zed")), row -> { });
+        int[] seenDuringBuild = new int[1];
+
+        // Act
+        index.load(Stream.of(new Name(1L, "ada")),
+                row -> seenDuringBuild[0] = index.search("zed", 0, 10).getTotal());
+
+        // Assert
+        assertEquals(1, seenDuringBuild[0]);
+        assertEquals(List.of(), index.search("zed", 0, 10).getIds());
+        assertEquals(List.of(1L), index.search("ada", 0, 10).getIds());
+        assertTrue(index.isReady());
+    }
+
+    private record Name(Long id, String name) {
+    }
+
+    private static class NameIndex extends EntitySearchIndex<Name> {
+
+        NameIndex() {
+            super(1000);
+        }
+
+        @Override
+        protected Long idOf(Name name) {
+            return name.id();
+        }
+
+        @Override
+        protected Map<String, Integer> tokensOf(Name name) {
+            Map<String, Integer> tokens = new HashMap<>();
+            TokenIndex.addField(tokens, name.name(), 1);
+            return tokens;
+        }
+
+        @Override
+        public String labelOf(Name name) {
+            return name.name();
+        }
+    }
+}
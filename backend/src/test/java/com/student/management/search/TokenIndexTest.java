@@ -0,0 +1,169 @@
+package com.student.management.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenIndexTest {
+    
+    @Test
+    void search_ShouldRankExactTokensAboveHigherWeightedPrefixMatches() {
+        // Arrange: weights as the search indexes use them, name 3 and email 1
+        TokenIndex index = new TokenIndex(1000);
+        index.put(1L, Map.of("ann", 1));
+        index.put(2L, Map.of("anna", 3));
+        index.put(3L, Map.of("ann", 3));
+        index.put(4L, Map.of("annabel", 1));
+        
+        // Act
+        SearchHits hits = index.search("ann", 0, 10);
+        
+        // Assert: exact 3 * 2, prefix 3, exact 1 * 2, prefix 1
+        assertEquals(List.of(3L, 2L, 1L, 4L), hits.getIds());
+        assertEquals(4, hits.getTotal());
+    }
+    
+    @Test
+    void search_WhenScoresTie_ShouldOrderByIdAndPageByOffset() {
+        // Arrange
+        TokenIndex index = new TokenIndex(1000);
+        for (long id = 5; id >= 1; id--) {
+            index.put(id, Map.of("lee", 3));
+        }
+        
+        // Act
+        SearchHits firstPage = index.search("lee", 0, 2);
+        SearchHits secondPage = index.search("lee", 2, 2);
+        SearchHits pastTheEnd = index.search("lee", 5, 2);
+        
+        // Assert
+        assertEquals(List.of(1L, 2L), firstPage.getIds());
+        assertEquals(List.of(3L, 4L), secondPage.getIds());
+        assertEquals(List.of(), pastTheEnd.getIds());
+        assertEquals(5, pastTheEnd.getTotal());
+    }
+    
+    @Test
+    void search_ShouldMatchTokenPrefixesOnly() {
+        // Arrange
+        TokenIndex index = new TokenIndex(1000);
+        index.put(1L, tokens("Johnson"));
+        index.put(2L, tokens("Ajohn"));
+        
+        // Act & Assert
+        assertEquals(List.of(1L), index.search("JOHN", 0, 10).getIds());
+        assertEquals(List.of(), index.search("ohn", 0, 10).getIds());
+    }
+    
+    @Test
+    void search_WithSeveralTerms_ShouldReturnDocumentsMatchingAllOfThem() {
+        // Arrange
+        TokenIndex index = new TokenIndex(1000);
+        index.put(1L, tokens("Ada Lovelace"));
+        index.put(2L, tokens("Ada Byron"));
+        index.put(3L, tokens("Augusta Lovelace"));
+        index.put(4L, tokens("Lovelace Ada"));
+        
+        // Act
+        SearchHits hits = index.search("lov ada", 0, 10);
+        
+        // Assert: order of the words does not matter, every word must match
+        assertEquals(List.of(1L, 4L), hits.getIds());
+        assertEquals(List.of(), index.search("ada augusta", 0, 10).getIds());
+    }
+    
+    @Test
+    void search_WithSeveralTerms_ShouldAddTheTermScores() {
+        // Arrange
+        TokenIndex index = new TokenIndex(1000);
+        Map<String, Integer> strong = new HashMap<>();
+        TokenIndex.addField(strong, "Ada Lovelace", 3);
+        Map<String, Integer> weak = new HashMap<>();
+        TokenIndex.addField(weak, "Ada", 3);
+        TokenIndex.addField(weak, "lovelace@email.com", 1);
+        index.put(1L, weak);
+        index.put(2L, strong);
+        
+        // Act & Assert
+        assertEquals(List.of(2L, 1L), index.search("ada lovelace", 0, 10).getIds());
+    }
+    
+    @Test
+    void search_WhenLaterTermIsBroad_ShouldStillIntersectExactly() {
+        // Arrange: the broad term has far more postings than the narrow one has candidates
+        TokenIndex index = new TokenIndex(1000);
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, tokens("Student" + id + " smith"));
+        }
+        index.put(500L, tokens("Zebedee Smith"));
+        index.put(501L, tokens("Zebedee Jones"));
+        
+        // Act & Assert
+        assertEquals(List.of(500L), index.search("s zebedee", 0, 10).getIds());
+    }
+    
+    @Test
+    void remove_ShouldDropTheDocumentFromEveryToken() {
+        // Arrange
+        TokenIndex index = new TokenIndex(1000);
+        index.put(1L, tokens("Ada Lovelace"));
+        index.put(2L, tokens("Ada Byron"));
+        
+        // Act
+        index.remove(1L);
+        
+        // Assert
+        assertEquals(List.of(2L), index.search("ada", 0, 10).getIds());
+        assertEquals(List.of(), index.search("lovelace", 0, 10).getIds());
+        assertEquals(1, index.size());
+    }
+    
+    @Test
+    void tokenize_ShouldSplitOnNonAlphanumericsAndLowerCase() {
+        assertEquals(List.of("o", "brien", "ada", "lovelace", "email", "com", "42"),
+                TokenIndex.tokenize("O'Brien ada.LOVELACE@email.com  42"));
+        assertEquals(List.of(), TokenIndex.tokenize(null));
+    }
+    
+    @Test
+    void search_WhenCandidatesAreCapped_ShouldKeepTheBestScoringDocuments() {
+        // Arrange: many weak matches (an email token) and two strong ones (name tokens)
+        TokenIndex index = new TokenIndex(2);
+        for (long id = 1; id <= 200; id++) {
+            index.put(id, Map.of("smith", 1));
+        }
+        index.put(500L, Map.of("smith", 3));
+        index.put(501L, Map.of("smithson", 3));
+        
+        // Act
+        SearchHits hits = index.search("smith", 0, 10);
+        
+        // Assert: exact 3 * 2 beats prefix 3 beats exact 1 * 2
+        assertEquals(List.of(500L, 501L), hits.getIds());
+        assertEquals(2, hits.getTotal());
+    }
+    
+    @Test
+    void search_WhenDocumentIsReindexedWithLowerWeight_ShouldNoLongerWinTheCap() {
+        // Arrange
+        TokenIndex index = new TokenIndex(1);
+        index.put(1L, Map.of("ada", 3));
+        index.put(2L, Map.of("ada", 2));
+        
+        // Act
+        index.put(1L, Map.of("ada", 1));
+        
+        // Assert
+        assertEquals(List.of(2L), index.search("ada", 0, 10).getIds());
+    }
+    
+    private static Map<String, Integer> tokens(String text) {
+        Map<String, Integer> tokenWeights = new HashMap<>();
+        TokenIndex.addField(tokenWeights, text, 3);
+        return tokenWeights;
+    }
+}
@@ -0,0 +1,107 @@
+package com.student.management.service;
+
+import com.student.management.exception.ValidationException;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictRetryTest {
+
+    private ConflictRetry conflictRetry;
+
+    @BeforeEach
+    void setUp() {
+        conflictRetry = new ConflictRetry();
+        ReflectionTestUtils.setField(conflictRetry, "maxAttempts", 3);
+        ReflectionTestUtils.setField(conflictRetry, "backoff", Duration.ofMillis(1));
+    }
+
+    @Test
+    void isConflict_ShouldAcceptLostRacesOnly() {
+        assertTrue(ConflictRetry.isConflict(new ObjectOptimisticLockingFailureException("Student", 1L)));
+        assertTrue(ConflictRetry.isConflict(new CannotAcquireLockException("lock timeout")));
+        assertTrue(ConflictRetry.isConflict(new OptimisticLockException()));
+        assertTrue(ConflictRetry.isConflict(new PessimisticLockException()));
+        assertTrue(ConflictRetry.isConflict(new LockTimeoutException()));
+        assertTrue(ConflictRetry.isConflict(new DuplicateKeyException("join row exists")));
+
+        // Validation and other integrity errors would fail the same way again
+        assertFalse(ConflictRetry.isConflict(new ValidationException("Course is full: 1")));
+        assertFalse(ConflictRetry.isConflict(new DataIntegrityViolationException("not null")));
+        assertFalse(ConflictRetry.isConflict(new IllegalStateException()));
+    }
+
+    @Test
+    void run_WhenConflictClears_ShouldReturnTheLaterAttempt() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = conflictRetry.run(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("lock timeout");
+            }
+            return "enrolled";
+        });
+
+        // Assert
+        assertEquals("enrolled", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void run_WhenConflictPersists_ShouldGiveUpAfterMaxAttempts() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(OptimisticLockException.class, () -> conflictRetry.run(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockException();
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void run_WhenErrorIsNotAConflict_ShouldNotRetry() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> conflictRetry.run(() -> {
+            attempts.incrementAndGet();
+            throw new ValidationException("Course is full: 1");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void run_InsideATransaction_ShouldRunOnce() {
+        // Arrange: a retry would reuse the caller's failed transaction, so it is left to the caller
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // Act & Assert
+            assertThrows(CannotAcquireLockException.class, () -> conflictRetry.run(() -> {
+                attempts.incrementAndGet();
+                throw new CannotAcquireLockException("lock timeout");
+            }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(1, attempts.get());
+    }
+}
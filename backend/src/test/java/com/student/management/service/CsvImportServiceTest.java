@@ -0,0 +1,197 @@
+package com.student.management.service;
+
+import com.student.management.dto.ImportLineError;
+import com.student.management.dto.ImportReport;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.exception.ValidationException;
+import com.student.management.export.ExportFormat;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.ExportRepository;
+import com.student.management.repository.StudentRepository;
+import com.student.management.search.CourseSearchIndex;
+import com.student.management.search.StudentSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "app.import.chunk-size=100"})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({CsvImportService.class, StudentSearchIndex.class, CourseSearchIndex.class,
+        ExportService.class, ExportRepository.class})
+class CsvImportServiceTest {
+    
+    @Autowired
+    private CsvImportService csvImportService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+    
+    @Test
+    void importStudents_ShouldSkipBadLinesAndReportThem() {
+        // Arrange
+        studentRepository.save(new Student("Existing", "Student", "taken@email.com", LocalDate.of(2000, 1, 1)));
+        String csv = "firstName,lastName,email,dateOfBirth,phoneNumber\n"
+                + "Ada,Lovelace,ada@email.com,1990-12-10,\n"
+                + "\"Smith, Jr\",Jones,smith@email.com,1991-01-01,+15551234567\n"
+                + "Dup,Licate,ada@email.com,1992-02-02,\n"
+                + "Taken,Email,taken@email.com,1993-03-03,\n"
+                + "Bad,Date,bad@email.com,yesterday,\n"
+                + "No,Email,not-an-email,1994-04-04,\n"
+                + "Too,Few,few@email.com\n";
+        
+        // Act
+        ImportReport report = csvImportService.importStudents(stream(csv));
+        
+        // Assert
+        assertEquals(2, report.getImported());
+        assertEquals(5, report.getFailed());
+        assertEquals(List.of(4, 5, 6, 7, 8), report.getErrors().stream()
+                .map(ImportLineError::getLine)
+                .collect(Collectors.toList()));
+        assertTrue(report.getErrors().get(0).getMessage().contains("already exists"));
+        assertTrue(studentRepository.existsByEmail("smith@email.com"));
+        assertEquals(3, studentRepository.count());
+    }
+    
+    @Test
+    void importStudents_ShouldInsertInBatches() {
+        // Arrange
+        StringBuilder csv = new StringBuilder("firstName,lastName,email,dateOfBirth\n");
+        for (int i = 0; i < 250; i++) {
+            csv.append("First").append(i).append(",Last").append(i)
+                    .append(",student").append(i).append("@email.com,2000-01-01\n");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        
+        // Act
+        ImportReport report = csvImportService.importStudents(stream(csv.toString()));
+        
+        // Assert
+        assertEquals(250, report.getImported());
+        assertEquals(250, statistics.getEntityInsertCount());
+        // One prepared INSERT per batch of 50 plus a sequence call per 50 ids, not one of each per row
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void importStudents_WhenHeaderHasUnknownColumn_ShouldRejectBeforeWriting() {
+        // Act & Assert
+        assertThrows(ValidationException.class,
+                () -> csvImportService.importStudents(stream("firstName,lastName,email,dateOfBirth,age\n")));
+        assertEquals(0, studentRepository.count());
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importStudents_WhenChunkRollsBack_ShouldLeaveItOutOfTheSearchIndex() {
+        // Arrange: the second chunk holds a valid email too long for its column, which only the insert catches
+        String longDomain = String.join(".", "d".repeat(60), "d".repeat(60), "d".repeat(60), "d".repeat(60), "com");
+        StringBuilder csv = new StringBuilder("firstName,lastName,email,dateOfBirth\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("First").append(i).append(",Last").append(i)
+                    .append(",rollback").append(i).append("@email.com,2000-01-01\n");
+        }
+        csv.append("Too,Long,").append("l".repeat(60)).append('@').append(longDomain).append(",2000-01-01\n");
+        
+        try {
+            // Act
+            ImportReport report = csvImportService.importStudents(stream(csv.toString()));
+            
+            // Assert
+            assertEquals(100, report.getImported());
+            assertEquals(1, report.getFailed());
+            assertTrue(report.getErrors().get(0).getMessage().startsWith("Not imported, chunk rolled back"));
+            assertEquals(100, studentRepository.count());
+            assertEquals(100, studentSearchIndex.size());
+        } finally {
+            studentRepository.deleteAll();
+        }
+    }
+    
+    @Test
+    void import_OfACsvExport_ShouldRecreateTheSameRows() {
+        // Arrange
+        Student student = new Student("Smith, Jr", "O\"Brien", "roundtrip@email.com", LocalDate.of(1990, 12, 10));
+        student.setPhoneNumber("+15551234567");
+        studentRepository.save(student);
+        Course course = new Course("RT101", "Round \"Trip\", Part 1", 3, new BigDecimal("99.50"));
+        course.setDescription("Line one\nline two");
+        course.setStartDate(LocalDate.of(2026, 9, 1));
+        course.setEndDate(LocalDate.of(2026, 12, 18));
+        course.setCapacity(30);
+        course.setIsActive(false);
+        courseRepository.saveAndFlush(course);
+        ByteArrayOutputStream students = new ByteArrayOutputStream();
+        ByteArrayOutputStream courses = new ByteArrayOutputStream();
+        exportService.exportStudents(ExportFormat.CSV, students);
+        exportService.exportCourses(ExportFormat.CSV, courses);
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        
+        // Act: the files go back in unchanged, id, version and timestamp columns included
+        ImportReport studentReport = csvImportService.importStudents(new ByteArrayInputStream(students.toByteArray()));
+        ImportReport courseReport = csvImportService.importCourses(new ByteArrayInputStream(courses.toByteArray()));
+        
+        // Assert
+        assertEquals(1, studentReport.getImported());
+        assertEquals(0, studentReport.getFailed());
+        assertEquals(1, courseReport.getImported());
+        assertEquals(0, courseReport.getFailed());
+        Student imported = studentRepository.findByEmail("roundtrip@email.com").orElseThrow();
+        assertEquals("Smith, Jr", imported.getFirstName());
+        assertEquals("O\"Brien", imported.getLastName());
+        assertEquals(LocalDate.of(1990, 12, 10), imported.getDateOfBirth());
+        assertEquals("+15551234567", imported.getPhoneNumber());
+        Course importedCourse = courseRepository.findByCourseCode("RT101").orElseThrow();
+        assertEquals("Round \"Trip\", Part 1", importedCourse.getCourseName());
+        assertEquals("Line one\nline two", importedCourse.getDescription());
+        assertEquals(3, importedCourse.getCredits());
+        assertEquals(new BigDecimal("99.50"), importedCourse.getPrice());
+        assertEquals(LocalDate.of(2026, 9, 1), importedCourse.getStartDate());
+        assertEquals(LocalDate.of(2026, 12, 18), importedCourse.getEndDate());
+        assertEquals(30, importedCourse.getCapacity());
+        assertFalse(importedCourse.getIsActive());
+        assertEquals(0, importedCourse.getEnrolledCount());
+    }
+    
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package com.student.management.service;
+
+import com.student.management.config.CacheConfig;
+import com.student.management.config.PaginationSettings;
+import com.student.management.dto.StudentDto;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.EnrollmentRepository;
+import com.student.management.repository.StudentRepository;
+import com.student.management.search.CourseSearchIndex;
+import com.student.management.search.StudentSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureCache
+@Import({CacheConfig.class, StudentService.class, CourseService.class, EnrollmentWriter.class, EnrollmentRepository.class,
+        EntityCacheInvalidator.class, ModificationCounters.class, PaginationSettings.class, StudentSearchIndex.class,
+        CourseSearchIndex.class, EnrollmentStats.class})
+class DtoConversionQueryCountTest {
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private int seeded;
+    
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            courseRepository.save(new Course("QC" + i, "Query Count Course " + i, 3, new BigDecimal("100.00")));
+        }
+    }
+    
+    @Test
+    void getAllStudents_ShouldIssueConstantStatementCount() {
+        // Arrange
+        seedStudents(5);
+        long small = countStatements(() -> assertEquals(5, studentService.getAllStudents().size()));
+        seedStudents(50);
+        
+        // Act
+        long large = countStatements(() -> assertEquals(55, studentService.getAllStudents().size()));
+        
+        // Assert
+        assertEquals(small, large);
+        assertEquals(2, large);
+    }
+    
+    @Test
+    void getAllCourses_ShouldIssueConstantStatementCount() {
+        // Arrange
+        seedStudents(5);
+        long small = countStatements(() -> assertEquals(5, courseService.getAllCourses().size()));
+        seedStudents(50);
+        
+        // Act
+        long large = countStatements(() -> courseService.getAllCourses()
+                .forEach(course -> assertEquals(55, course.getStudentIds().size())));
+        
+        // Assert
+        assertEquals(small, large);
+        assertEquals(2, large);
+    }
+    
+    @Test
+    void getStudentsPage_ShouldIssueConstantStatementCount() {
+        // Arrange
+        seedStudents(10);
+        long small = countStatements(() -> studentService.getStudentsPage(null, 10));
+        seedStudents(90);
+        
+        // Act
+        long large = countStatements(() -> studentService.getStudentsPage(null, 100));
+        
+        // Assert
+        assertEquals(small, large);
+    }
+    
+    @Test
+    void getAllStudents_WithoutCourseIds_ShouldSkipLinkQuery() {
+        // Arrange
+        seedStudents(20);
+        
+        // Act
+        long statements = countStatements(() -> studentService.getAllStudents(false)
+                .forEach(student -> assertNull(student.getCourseIds())));
+        
+        // Assert
+        assertEquals(1, statements);
+    }
+    
+    @Test
+    void getCourseIdsPage_ShouldReadOnlyIds() {
+        // Act
+        long statements = countStatements(() -> assertEquals(5, courseService.getCourseIdsPage(null, 10).getItems().size()));
+        
+        // Assert
+        assertEquals(1, statements);
+    }
+    
+    @Test
+    void streamStudents_ShouldReadKeysetBatchesAndLinkEachAfterItIsRead() {
+        // Arrange: one full batch of 500 plus a partial one
+        seedStudents(503);
+        List<StudentDto> streamed = new ArrayList<>();
+        
+        // Act
+        long statements = countStatements(() -> studentService.streamStudents(streamed::add));
+        
+        // Assert: per batch one keyset read, then one link lookup
+        assertEquals(4, statements);
+        assertEquals(503, streamed.size());
+        for (int i = 0; i < streamed.size(); i++) {
+            assertEquals(5, streamed.get(i).getCourseIds().size());
+            if (i > 0) {
+                assertTrue(streamed.get(i - 1).getId() < streamed.get(i).getId());
+            }
+        }
+    }
+    
+    private void seedStudents(int count) {
+        List<Course> courses = courseRepository.findAll();
+        for (int i = 0; i < count; i++) {
+            int n = seeded++;
+            Student student = new Student("First" + n, "Last" + n, "student" + n + "@email.com", LocalDate.of(2000, 1, 1));
+            courses.forEach(student::addCourse);
+            studentRepository.save(student);
+        }
+    }
+    
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
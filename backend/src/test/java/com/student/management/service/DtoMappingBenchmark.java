@@ -0,0 +1,82 @@
+package com.student.management.service;
+
+import com.student.management.dto.CourseDto;
+import com.student.management.dto.StudentDto;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Entity <-> DTO mapping of both services, per object. The mapping methods touch no
+// collaborator, so the services are used without a Spring context. Run with -Pjmh.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+    
+    private final StudentService studentService = new StudentService();
+    private final CourseService courseService = new CourseService();
+    
+    private Student student;
+    private StudentDto studentDto;
+    private Course course;
+    private CourseDto courseDto;
+    private Set<Long> courseIds;
+    private Set<Long> studentIds;
+    
+    @Setup
+    public void setUp() {
+        student = new Student("Ada", "Lovelace", "ada@email.com", LocalDate.of(1990, 12, 10));
+        student.setId(42L);
+        student.setPhoneNumber("+15551234567");
+        student.setVersion(3L);
+        courseIds = Set.of(1L, 2L, 3L, 4L);
+        studentDto = studentService.convertToDto(student, courseIds);
+        
+        course = new Course("CS101", "Introduction to Computer Science", 3, new BigDecimal("299.99"));
+        course.setId(7L);
+        course.setDescription("Fundamentals of programming and computational thinking");
+        course.setStartDate(LocalDate.of(2025, 9, 1));
+        course.setEndDate(LocalDate.of(2025, 12, 20));
+        course.setCapacity(200);
+        course.setVersion(1L);
+        studentIds = Set.of(10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L);
+        courseDto = courseService.convertToDto(course, studentIds);
+    }
+    
+    @Benchmark
+    public StudentDto studentToDto() {
+        return studentService.convertToDto(student, courseIds);
+    }
+    
+    @Benchmark
+    public Student studentToEntity() {
+        return studentService.convertToEntity(studentDto);
+    }
+    
+    @Benchmark
+    public CourseDto courseToDto() {
+        return courseService.convertToDto(course, studentIds);
+    }
+    
+    @Benchmark
+    public Course courseToEntity() {
+        return courseService.convertToEntity(courseDto);
+    }
+}
@@ -0,0 +1,191 @@
+package com.student.management.service;
+
+import com.student.management.controller.EnrollmentController;
+import com.student.management.dto.BulkEnrollmentResponse;
+import com.student.management.dto.BulkEnrollmentResult;
+import com.student.management.dto.EnrollmentRequest;
+import com.student.management.dto.EnrollmentStatus;
+import com.student.management.dto.EnrollmentTicket;
+import com.student.management.dto.TicketState;
+import com.student.management.exception.GlobalExceptionHandler;
+import com.student.management.exception.QueueFullException;
+import com.student.management.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The worker thread runs for real; the first batch can be held on a latch so the queue fills up
+@ExtendWith(MockitoExtension.class)
+class EnrollmentBurstQueueTest {
+
+    private static final long BLOCKER = 1L;
+    private static final long BAD_STUDENT = 99L;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Spy
+    private ConflictRetry conflictRetry = new ConflictRetry();
+
+    @InjectMocks
+    private EnrollmentBurstQueue burstQueue;
+
+    private final CountDownLatch blockerStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseBlocker = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(conflictRetry, "maxAttempts", 3);
+        ReflectionTestUtils.setField(conflictRetry, "backoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(burstQueue, "enabled", true);
+        ReflectionTestUtils.setField(burstQueue, "batchSize", 10);
+        ReflectionTestUtils.setField(burstQueue, "ticketRetention", Duration.ofMinutes(1));
+
+        // Enrolls every pair, except that BLOCKER waits for the latch and BAD_STUDENT fails its whole batch
+        when(enrollmentService.bulkEnroll(anyList(), eq(true))).thenAnswer(invocation -> {
+            List<EnrollmentRequest> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> request.getStudentId() == BLOCKER)) {
+                blockerStarted.countDown();
+                assertTrue(releaseBlocker.await(10, TimeUnit.SECONDS));
+            }
+            if (requests.stream().anyMatch(request -> request.getStudentId() == BAD_STUDENT)) {
+                throw new ValidationException("Student " + BAD_STUDENT + " is broken");
+            }
+            return new BulkEnrollmentResponse(requests.stream()
+                    .map(request -> new BulkEnrollmentResult(
+                            request.getStudentId(), request.getCourseId(), EnrollmentStatus.ENROLLED, null))
+                    .collect(Collectors.toList()));
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseBlocker.countDown();
+        burstQueue.stop();
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldRejectUntilTheWorkerCatchesUp() throws Exception {
+        // Arrange: the worker holds the first ticket, the next two fill the queue
+        start(2);
+        EnrollmentTicket blocker = burstQueue.submit(BLOCKER, 10L);
+        assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+        burstQueue.submit(2L, 10L);
+        burstQueue.submit(3L, 10L);
+
+        // Act & Assert
+        assertThrows(QueueFullException.class, () -> burstQueue.submit(4L, 10L));
+        assertEquals(TicketState.QUEUED, burstQueue.findTicket(blocker.getId()).orElseThrow().getState());
+
+        releaseBlocker.countDown();
+        awaitFinished(blocker);
+        burstQueue.submit(4L, 10L);
+    }
+
+    @Test
+    void enrollEndpoint_WhenQueueIsFull_ShouldAnswer429WithRetryAfter() throws Exception {
+        // Arrange
+        start(2);
+        EnrollmentController controller = new EnrollmentController();
+        ReflectionTestUtils.setField(controller, "burstQueue", burstQueue);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        burstQueue.submit(BLOCKER, 10L);
+        assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+
+        // Act & Assert
+        for (long studentId = 2; studentId <= 3; studentId++) {
+            mockMvc.perform(post("/api/enrollments/enroll").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"studentId\":" + studentId + ",\"courseId\":10}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().exists(HttpHeaders.LOCATION));
+        }
+        mockMvc.perform(post("/api/enrollments/enroll").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":4,\"courseId\":10}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void ticket_ShouldMoveFromQueuedToCompleted() throws Exception {
+        // Arrange
+        start(2);
+
+        // Act
+        EnrollmentTicket ticket = burstQueue.submit(2L, 10L);
+
+        // Assert
+        assertEquals(TicketState.QUEUED, ticket.getState());
+        EnrollmentTicket finished = awaitFinished(ticket);
+        assertEquals(TicketState.COMPLETED, finished.getState());
+        assertEquals(EnrollmentStatus.ENROLLED, finished.getStatus());
+        assertNotNull(finished.getCompletedAt());
+    }
+
+    @Test
+    void apply_WhenOnePairFailsTheBatch_ShouldStillCompleteItsNeighbours() throws Exception {
+        // Arrange: hold the worker so the next three tickets are drained as one batch
+        start(10);
+        EnrollmentTicket blocker = burstQueue.submit(BLOCKER, 10L);
+        assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+        EnrollmentTicket before = burstQueue.submit(2L, 10L);
+        EnrollmentTicket bad = burstQueue.submit(BAD_STUDENT, 10L);
+        EnrollmentTicket after = burstQueue.submit(3L, 10L);
+
+        // Act
+        releaseBlocker.countDown();
+
+        // Assert
+        awaitFinished(blocker);
+        assertEquals(TicketState.COMPLETED, awaitFinished(before).getState());
+        EnrollmentTicket failed = awaitFinished(bad);
+        assertEquals(TicketState.FAILED, failed.getState());
+        assertTrue(failed.getMessage().contains("broken"));
+        assertEquals(TicketState.COMPLETED, awaitFinished(after).getState());
+        // Tried once as a batch of three, then one pair at a time
+        verify(enrollmentService).bulkEnroll(argThat(requests -> requests.size() == 3), eq(true));
+    }
+
+    private void start(int queueCapacity) {
+        ReflectionTestUtils.setField(burstQueue, "queueCapacity", queueCapacity);
+        burstQueue.start();
+    }
+
+    private EnrollmentTicket awaitFinished(EnrollmentTicket ticket) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            EnrollmentTicket current = burstQueue.findTicket(ticket.getId()).orElseThrow();
+            if (current.getState() != TicketState.QUEUED) {
+                return current;
+            }
+            Thread.sleep(25);
+        }
+        return fail("Ticket " + ticket.getId() + " never finished");
+    }
+}
@@ -0,0 +1,222 @@
+package com.student.management.service;
+
+import com.student.management.config.CacheConfig;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.entity.WaitlistEntry;
+import com.student.management.exception.ValidationException;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.EnrollmentKey;
+import com.student.management.repository.EnrollmentRepository;
+import com.student.management.repository.StudentRepository;
+import com.student.management.repository.WaitlistRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every writer call commits on its own, so concurrent callers really contend for the seat row
+@DataJpaTest
+@AutoConfigureCache
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CacheConfig.class, EnrollmentWriter.class, EnrollmentRepository.class, EntityCacheInvalidator.class, ModificationCounters.class,
+        EnrollmentStats.class})
+class EnrollmentCapacityTest {
+    
+    private static final int CAPACITY = 10;
+    private static final int STUDENTS = 100;
+    
+    @Autowired
+    private EnrollmentWriter enrollmentWriter;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+    
+    @Autowired
+    private EnrollmentStats enrollmentStats;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Long courseId;
+    private List<Long> studentIds;
+    
+    @BeforeEach
+    void setUp() {
+        Course course = new Course("CAP101", "Capacity Course", 3, new BigDecimal("100.00"));
+        course.setCapacity(CAPACITY);
+        courseId = courseRepository.save(course).getId();
+        
+        studentIds = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student("First" + i, "Last" + i, "capacity" + i + "@email.com", LocalDate.of(2000, 1, 1));
+            studentIds.add(studentRepository.save(student).getId());
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM course_waitlist");
+        jdbcTemplate.update("DELETE FROM student_courses");
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+    }
+    
+    @Test
+    void link_WhenManyStudentsRaceForFewSeats_ShouldNeverOversell() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        
+        // Act
+        for (Long studentId : studentIds) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    enrollmentWriter.link(List.of(new EnrollmentKey(studentId, courseId)));
+                    enrolled.incrementAndGet();
+                } catch (ValidationException e) {
+                    rejected.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        
+        // Assert
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(CAPACITY, enrolled.get());
+        assertEquals(STUDENTS - CAPACITY, rejected.get());
+        assertEquals(CAPACITY, countJoinRows());
+        assertEquals(CAPACITY, enrolledCount());
+        // Rejected attempts rolled back, so only committed links reached the aggregates
+        assertEquals(CAPACITY, enrollmentStats.snapshot().getStudentsPerCourse().get(courseId));
+    }
+    
+    @Test
+    void linkWithinCapacity_WhenRequestExceedsSeats_ShouldGrantSeatsInRequestOrder() {
+        // Arrange
+        List<EnrollmentKey> keys = new ArrayList<>();
+        for (Long studentId : studentIds.subList(0, CAPACITY + 5)) {
+            keys.add(new EnrollmentKey(studentId, courseId));
+        }
+        
+        // Act
+        Set<EnrollmentKey> linked = enrollmentWriter.linkWithinCapacity(keys);
+        
+        // Assert
+        assertEquals(keys.subList(0, CAPACITY), new ArrayList<>(linked));
+        assertEquals(CAPACITY, enrolledCount());
+    }
+    
+    @Test
+    void unlink_ShouldReleaseOnlySeatsThatWereTaken() {
+        // Arrange
+        EnrollmentKey taken = new EnrollmentKey(studentIds.get(0), courseId);
+        EnrollmentKey neverTaken = new EnrollmentKey(studentIds.get(1), courseId);
+        enrollmentWriter.link(List.of(taken));
+        
+        // Act
+        enrollmentWriter.unlink(List.of(taken, neverTaken));
+        
+        // Assert
+        assertEquals(0, enrolledCount());
+        assertEquals(0, countJoinRows());
+    }
+    
+    @Test
+    void unlink_WhenCourseHasWaitlist_ShouldPromoteHeadsInArrivalOrder() {
+        // Arrange
+        List<EnrollmentKey> seated = new ArrayList<>();
+        for (Long studentId : studentIds.subList(0, CAPACITY)) {
+            seated.add(new EnrollmentKey(studentId, courseId));
+        }
+        enrollmentWriter.link(seated);
+        List<Long> waiting = studentIds.subList(CAPACITY, CAPACITY + 3);
+        waiting.forEach(studentId -> waitlistRepository.save(new WaitlistEntry(courseId, studentId)));
+        
+        // Act
+        enrollmentWriter.unlink(seated.subList(0, 2));
+        
+        // Assert
+        assertEquals(CAPACITY, enrolledCount());
+        assertEquals(CAPACITY, countJoinRows());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_courses WHERE course_id = ? AND student_id IN (?, ?)",
+                Integer.class, courseId, waiting.get(0), waiting.get(1)));
+        assertEquals(waiting.get(2), waitlistRepository.findAll().get(0).getStudentId());
+        assertEquals(1, waitlistRepository.count());
+    }
+    
+    @Test
+    void link_WhenStudentIsWaitlisted_ShouldDropTheWaitlistEntry() {
+        // Arrange
+        Long waiting = studentIds.get(0);
+        Long other = studentIds.get(1);
+        waitlistRepository.save(new WaitlistEntry(courseId, waiting));
+        waitlistRepository.save(new WaitlistEntry(courseId, other));
+        
+        // Act
+        enrollmentWriter.link(List.of(new EnrollmentKey(waiting, courseId)));
+        
+        // Assert
+        assertFalse(waitlistRepository.existsByCourseIdAndStudentId(courseId, waiting));
+        assertTrue(waitlistRepository.existsByCourseIdAndStudentId(courseId, other));
+    }
+    
+    @Test
+    void linkWithinCapacity_WhenStudentIsWaitlisted_ShouldDropTheWaitlistEntry() {
+        // Arrange
+        Long waiting = studentIds.get(0);
+        waitlistRepository.save(new WaitlistEntry(courseId, waiting));
+        
+        // Act
+        enrollmentWriter.linkWithinCapacity(List.of(new EnrollmentKey(waiting, courseId)));
+        
+        // Assert
+        assertEquals(0, waitlistRepository.count());
+        assertEquals(1, enrolledCount());
+    }
+    
+    private int countJoinRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_courses WHERE course_id = ?", Integer.class, courseId);
+    }
+    
+    private int enrolledCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT enrolled_count FROM courses WHERE id = ?", Integer.class, courseId);
+    }
+}
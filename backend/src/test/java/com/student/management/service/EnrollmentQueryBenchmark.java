@@ -0,0 +1,95 @@
+package com.student.management.service;
+
+import com.student.management.dto.EnrollmentResponse;
+import com.student.management.repository.EnrollmentRepository;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// EnrollmentService.getAllEnrollments over an H2 database migrated by Flyway and seeded with
+// the given number of enrollment rows (4 courses per student, 100 courses). Run with -Pjmh.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EnrollmentQueryBenchmark {
+    
+    private static final int COURSES = 100;
+    private static final int COURSES_PER_STUDENT = 4;
+    private static final int BATCH_SIZE = 5_000;
+    
+    @Param({"1000", "100000", "1000000"})
+    public int enrollments;
+    
+    private SingleConnectionDataSource dataSource;
+    private EnrollmentService enrollmentService;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:bench-" + enrollments + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        seed(new JdbcTemplate(dataSource));
+        
+        enrollmentService = new EnrollmentService();
+        ReflectionTestUtils.setField(enrollmentService, "enrollmentRepository", new EnrollmentRepository(dataSource));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+    
+    @Benchmark
+    public List<EnrollmentResponse> getAllEnrollments() {
+        return enrollmentService.getAllEnrollments();
+    }
+    
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> courses = new ArrayList<>(COURSES);
+        for (long id = 1; id <= COURSES; id++) {
+            courses.add(new Object[] {id, "B" + id, "Benchmark Course " + id, 3, new BigDecimal("100.00")});
+        }
+        jdbc.batchUpdate("INSERT INTO courses (id, course_code, course_name, credits, price) VALUES (?, ?, ?, ?, ?)", courses);
+        
+        int students = Math.max(1, enrollments / COURSES_PER_STUDENT);
+        Date dateOfBirth = Date.valueOf("2000-01-01");
+        List<Object[]> studentRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> links = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= students; id++) {
+            studentRows.add(new Object[] {id, "First" + id, "Last" + id, "student" + id + "@email.com", dateOfBirth});
+            for (int c = 0; c < COURSES_PER_STUDENT; c++) {
+                links.add(new Object[] {id, (id + (long) c * (COURSES / COURSES_PER_STUDENT)) % COURSES + 1});
+            }
+            if (studentRows.size() == BATCH_SIZE || id == students) {
+                jdbc.batchUpdate("INSERT INTO students (id, first_name, last_name, email, date_of_birth) VALUES (?, ?, ?, ?, ?)",
+                        studentRows);
+                jdbc.batchUpdate("INSERT INTO student_courses (student_id, course_id) VALUES (?, ?)", links);
+                studentRows.clear();
+                links.clear();
+            }
+        }
+    }
+}
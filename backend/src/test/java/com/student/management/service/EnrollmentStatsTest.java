@@ -0,0 +1,178 @@
+package com.student.management.service;
+
+import com.student.management.dto.CourseDto;
+import com.student.management.dto.StatsResponse;
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.exception.ValidationException;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every service call commits on its own, so the after-commit deltas really run; after each write
+// the in-memory aggregates must equal a recount from the tables (sample data included)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:enrollment-stats;LOCK_TIMEOUT=10000")
+class EnrollmentStatsTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private EnrollmentStats enrollmentStats;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long studentId;
+    private Long otherStudentId;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        int n = SEQUENCE.incrementAndGet();
+        studentId = studentRepository.save(
+                new Student("Stats", "Student", "stats" + n + "@email.com", LocalDate.of(2000, 1, 1))).getId();
+        otherStudentId = studentRepository.save(
+                new Student("Other", "Student", "other" + n + "@email.com", LocalDate.of(2000, 1, 1))).getId();
+        courseId = courseRepository.save(new Course("STAT" + n, "Stats Course", 3, new BigDecimal("150.00"))).getId();
+        assertMatchesRecount();
+    }
+
+    @Test
+    void snapshot_ShouldTrackEnrollAndUnenroll() {
+        enrollmentService.enrollStudentInCourse(studentId, courseId);
+        enrollmentService.enrollStudentInCourse(otherStudentId, courseId);
+        assertMatchesRecount();
+        assertEquals(2, enrollmentStats.snapshot().getStudentsPerCourse().get(courseId));
+
+        enrollmentService.unenrollStudentFromCourse(studentId, courseId);
+        assertMatchesRecount();
+        assertEquals(1, enrollmentStats.snapshot().getStudentsPerCourse().get(courseId));
+    }
+
+    @Test
+    void snapshot_ShouldRepriceTakenSeatsOnPriceChange() {
+        enrollmentService.enrollStudentInCourse(studentId, courseId);
+        enrollmentService.enrollStudentInCourse(otherStudentId, courseId);
+        BigDecimal revenueBefore = enrollmentStats.snapshot().getTotalRevenue();
+
+        CourseDto course = courseService.getCourseById(courseId);
+        course.setPrice(new BigDecimal("200.00"));
+        course.setStudentIds(null);
+        courseService.updateCourse(courseId, course);
+
+        assertMatchesRecount();
+        assertEquals(0, revenueBefore.add(new BigDecimal("100.00")).compareTo(enrollmentStats.snapshot().getTotalRevenue()));
+    }
+
+    @Test
+    void snapshot_ShouldDropDeletedCourseAndStudent() {
+        enrollmentService.enrollStudentInCourse(studentId, courseId);
+        enrollmentService.enrollStudentInCourse(otherStudentId, courseId);
+
+        courseService.deleteCourse(courseId);
+        assertMatchesRecount();
+        assertFalse(enrollmentStats.snapshot().getStudentsPerCourse().containsKey(courseId));
+
+        studentService.deleteStudent(studentId);
+        assertMatchesRecount();
+    }
+
+    @Test
+    void snapshot_ShouldIgnoreRolledBackWrites() {
+        StatsResponse before = enrollmentStats.snapshot();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Rolled back after the writes succeeded
+        transaction.executeWithoutResult(status -> {
+            enrollmentService.enrollStudentInCourse(studentId, courseId);
+            CourseDto course = courseService.getCourseById(courseId);
+            course.setPrice(new BigDecimal("999.00"));
+            course.setStudentIds(null);
+            courseService.updateCourse(courseId, course);
+            studentService.deleteStudent(otherStudentId);
+            status.setRollbackOnly();
+        });
+        // Rolled back by a failure after the seat was taken
+        assertThrows(ValidationException.class, () -> transaction.executeWithoutResult(status -> {
+            enrollmentService.enrollStudentInCourse(studentId, courseId);
+            enrollmentService.enrollStudentInCourse(studentId, courseId);
+        }));
+
+        assertMatchesRecount();
+        StatsResponse after = enrollmentStats.snapshot();
+        assertEquals(before.getTotalEnrollments(), after.getTotalEnrollments());
+        assertEquals(before.getTotalStudents(), after.getTotalStudents());
+        assertEquals(0, before.getTotalRevenue().compareTo(after.getTotalRevenue()));
+    }
+
+    @Test
+    void snapshot_ShouldServeOnePublishedCopyUntilTheNextWrite() {
+        StatsResponse published = enrollmentStats.snapshot();
+        assertSame(published, enrollmentStats.snapshot());
+        assertThrows(UnsupportedOperationException.class, () -> published.getStudentsPerCourse().put(courseId, 99));
+
+        enrollmentService.enrollStudentInCourse(studentId, courseId);
+
+        // The write publishes a new copy and leaves the one already handed out alone
+        assertNotSame(published, enrollmentStats.snapshot());
+        assertEquals(0, published.getStudentsPerCourse().get(courseId));
+        assertEquals(1, enrollmentStats.snapshot().getStudentsPerCourse().get(courseId));
+    }
+
+    private void assertMatchesRecount() {
+        StatsResponse stats = enrollmentStats.snapshot();
+        assertEquals(count("SELECT COUNT(*) FROM students"), stats.getTotalStudents());
+        assertEquals(count("SELECT COUNT(DISTINCT student_id) FROM student_courses"), stats.getStudentsWithCourses());
+        assertEquals(count("SELECT COUNT(*) FROM courses"), stats.getTotalCourses());
+        assertEquals(count("SELECT COUNT(*) FROM courses WHERE is_active = TRUE"), stats.getActiveCourses());
+        assertEquals(count("SELECT COUNT(*) FROM student_courses"), stats.getTotalEnrollments());
+        BigDecimal revenue = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(c.price), 0) FROM student_courses sc JOIN courses c ON c.id = sc.course_id",
+                BigDecimal.class);
+        assertEquals(0, revenue.compareTo(stats.getTotalRevenue()), () -> revenue + " vs " + stats.getTotalRevenue());
+
+        Map<Long, Integer> perCourse = new TreeMap<>();
+        jdbcTemplate.query("SELECT c.id, COUNT(sc.student_id) FROM courses c "
+                + "LEFT JOIN student_courses sc ON sc.course_id = c.id GROUP BY c.id",
+                row -> {
+                    perCourse.put(row.getLong(1), row.getInt(2));
+                });
+        assertEquals(perCourse, stats.getStudentsPerCourse());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
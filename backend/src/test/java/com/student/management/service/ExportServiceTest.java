@@ -0,0 +1,79 @@
+package com.student.management.service;
+
+import com.student.management.entity.Course;
+import com.student.management.entity.Student;
+import com.student.management.exception.ValidationException;
+import com.student.management.export.ExportFormat;
+import com.student.management.repository.CourseRepository;
+import com.student.management.repository.ExportRepository;
+import com.student.management.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ExportService.class, ExportRepository.class})
+class ExportServiceTest {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    private Student student;
+    
+    @BeforeEach
+    void setUp() {
+        Course course = courseRepository.save(new Course("EXP101", "Export \"Basics\", Part 1", 3, new BigDecimal("99.50")));
+        student = new Student("Ada", "Lovelace", "ada@email.com", LocalDate.of(1990, 12, 10));
+        student.addCourse(course);
+        student = studentRepository.saveAndFlush(student);
+    }
+    
+    @Test
+    void exportCourses_AsCsv_ShouldQuoteFieldsThatNeedIt() {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportCourses(ExportFormat.CSV, out);
+        
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, rows);
+        assertTrue(lines[0].startsWith("id,courseCode,courseName,description,credits,price,"));
+        assertTrue(lines[1].contains(",EXP101,\"Export \"\"Basics\"\", Part 1\",,3,99.50,"));
+    }
+    
+    @Test
+    void exportEnrollments_AsCsv_ShouldWriteOneLinePerFilteredPair() {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportEnrollments(student.getId(), null, ExportFormat.CSV, out);
+        
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, rows);
+        assertEquals(2, lines.length);
+        assertEquals("studentId,courseId,studentName,courseName", lines[0]);
+        assertTrue(lines[1].startsWith(student.getId() + ","));
+        assertTrue(lines[1].endsWith(",Ada Lovelace,\"Export \"\"Basics\"\", Part 1\""));
+    }
+    
+    @Test
+    void parse_WhenFormatIsNdjson_ShouldPointToTheStreamEndpoints() {
+        ValidationException e = assertThrows(ValidationException.class, () -> ExportFormat.parse("ndjson"));
+        assertTrue(e.getMessage().contains("/api/enrollments/stream"));
+    }
+}
@@ -1,18 +1,28 @@
 package com.student.management.service;
 
+import com.student.management.config.PaginationSettings;
 import com.student.management.dto.StudentDto;
+import com.student.management.dto.Suggestion;
 import com.student.management.entity.Course;
 import com.student.management.entity.Student;
+import com.student.management.exception.PreconditionFailedException;
 import com.student.management.exception.ResourceNotFoundException;
 import com.student.management.exception.ValidationException;
 import com.student.management.repository.CourseRepository;
+import com.student.management.repository.EnrollmentKey;
 import com.student.management.repository.StudentRepository;
+import com.student.management.repository.WaitlistRepository;
+import com.student.management.search.SearchHits;
+import com.student.management.search.StudentSearchIndex;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -33,6 +43,27 @@ class StudentServiceTest {
     @Mock
     private CourseRepository courseRepository;
     
+    @Mock
+    private EnrollmentWriter enrollmentWriter;
+    
+    @Mock
+    private WaitlistRepository waitlistRepository;
+    
+    @Mock
+    private EntityCacheInvalidator cacheInvalidator;
+    
+    @Mock
+    private StudentSearchIndex searchIndex;
+    
+    @Mock
+    private PaginationSettings paginationSettings;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private ModificationCounters modificationCounters;
+    
     @InjectMocks
     private StudentService studentService;
     
@@ -131,6 +162,7 @@ class StudentServiceTest {
         when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
         when(studentRepository.existsByEmailAndIdNot("jane.doe@email.com", 1L)).thenReturn(false);
         when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+        when(studentRepository.incrementVersion(1L, null)).thenReturn(1);
         
         // Act
         StudentDto result = studentService.updateStudent(1L, updateDto);
@@ -142,6 +174,71 @@ class StudentServiceTest {
         verify(studentRepository).save(any(Student.class));
     }
     
+    @Test
+    void updateStudent_WhenCoursesChange_ShouldOnlyWriteTheDelta() {
+        // Arrange
+        StudentDto updateDto = new StudentDto("John", "Doe", "john.doe@email.com", LocalDate.of(2000, 5, 15));
+        updateDto.setCourseIds(Set.of(2L, 3L));
+        
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+        when(studentRepository.incrementVersion(1L, null)).thenReturn(1);
+        when(studentRepository.findEnrollmentLinksByStudentIds(any()))
+                .thenReturn(List.of(new EnrollmentKey(1L, 1L), new EnrollmentKey(1L, 2L)));
+        when(courseRepository.findExistingIds(any())).thenReturn(List.of(3L));
+        
+        // Act
+        studentService.updateStudent(1L, updateDto);
+        
+        // Assert
+        verify(enrollmentWriter).unlink(List.of(new EnrollmentKey(1L, 1L)));
+        verify(enrollmentWriter).link(List.of(new EnrollmentKey(1L, 3L)));
+    }
+    
+    @Test
+    void updateStudent_WhenIfMatchVersionIsStale_ShouldRejectWithoutWriting() {
+        // Arrange
+        testStudent.setVersion(4L);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> studentService.updateStudent(1L, testStudentDto, 3L));
+        verify(studentRepository, never()).save(any(Student.class));
+        verifyNoInteractions(enrollmentWriter);
+    }
+    
+    @Test
+    void updateStudent_WhenNoColumnChanges_ShouldStillIncrementVersion() {
+        // Arrange
+        testStudent.setVersion(4L);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+        when(studentRepository.incrementVersion(1L, 4L)).thenReturn(1);
+        
+        // Act
+        studentService.updateStudent(1L, testStudentDto, 4L);
+        
+        // Assert: a conditional UPDATE on the version, then the new version is read back
+        InOrder order = inOrder(entityManager, studentRepository);
+        order.verify(entityManager).flush();
+        order.verify(studentRepository).incrementVersion(1L, 4L);
+        order.verify(entityManager).refresh(testStudent);
+    }
+    
+    @Test
+    void updateStudent_WhenVersionMovesBeforeTheForcedIncrement_ShouldReportAConflict() {
+        // Arrange
+        testStudent.setVersion(4L);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(testStudent));
+        when(studentRepository.save(any(Student.class))).thenReturn(testStudent);
+        when(studentRepository.incrementVersion(1L, 4L)).thenReturn(0);
+        
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> studentService.updateStudent(1L, testStudentDto, 4L));
+        verify(entityManager, never()).refresh(any());
+    }
+    
     @Test
     void updateStudent_WhenStudentNotFound_ShouldThrowException() {
         // Arrange
@@ -163,7 +260,11 @@ class StudentServiceTest {
         
         // Assert
         verify(studentRepository).existsById(1L);
-        verify(studentRepository).deleteById(1L);
+        // Off the waitlists before unlinking, so no freed seat is promoted back to this student
+        InOrder order = inOrder(waitlistRepository, enrollmentWriter, studentRepository);
+        order.verify(waitlistRepository).deleteByStudentId(1L);
+        order.verify(enrollmentWriter).unlink(any());
+        order.verify(studentRepository).deleteById(1L);
     }
     
     @Test
@@ -192,6 +293,39 @@ class StudentServiceTest {
         verify(studentRepository).findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase("John", "John");
     }
     
+    @Test
+    void searchStudents_WhenIndexReady_ShouldReturnResultsInRankOrder() {
+        // Arrange
+        Student otherStudent = new Student("Johanna", "Smith", "johanna.smith@email.com", LocalDate.of(2001, 3, 10));
+        otherStudent.setId(2L);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(paginationSettings.getMaxPageSize()).thenReturn(500);
+        when(searchIndex.search("jo", 0, 500)).thenReturn(new SearchHits(List.of(2L, 1L), 2));
+        when(studentRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(testStudent, otherStudent));
+        
+        // Act
+        List<StudentDto> result = studentService.searchStudents("jo");
+        
+        // Assert
+        assertEquals(List.of(2L, 1L), result.stream().map(StudentDto::getId).toList());
+        verify(studentRepository, never()).findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(any(), any());
+    }
+    
+    @Test
+    void suggestStudents_WhenIndexReady_ShouldAnswerWithoutQueryingDatabase() {
+        // Arrange
+        List<Suggestion> suggestions = List.of(new Suggestion(1L, "John Doe <john.doe@email.com>"));
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.suggest("jo", 10)).thenReturn(suggestions);
+        
+        // Act
+        List<Suggestion> result = studentService.suggestStudents(" jo ", null);
+        
+        // Assert
+        assertEquals(suggestions, result);
+        verifyNoInteractions(studentRepository);
+    }
+    
     @Test
     void searchStudents_WhenNoSearchTerm_ShouldReturnAllStudents() {
         // Arrange
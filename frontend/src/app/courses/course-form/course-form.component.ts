@@ -24,6 +24,7 @@ export class CourseFormComponent implements OnInit {
   
   isEditMode = false;
   courseId: number | null = null;
+  courseVersion?: number;
   
   constructor(
     private courseService: CourseService,
@@ -43,13 +44,15 @@ export class CourseFormComponent implements OnInit {
   
   loadCourse(id: number): void {
     this.courseService.getCourse(id).subscribe(course => {
+      this.courseVersion = course.version;
       this.course = {
         courseCode: course.courseCode,
         courseName: course.courseName,
         description: course.description || '',
         credits: course.credits,
         price: course.price,
-        isActive: course.isActive
+        isActive: course.isActive,
+        capacity: course.capacity ?? null
       };
     });
   }
@@ -57,7 +60,7 @@ export class CourseFormComponent implements OnInit {
   onSubmit(): void {
     if (this.isFormValid()) {
       if (this.isEditMode && this.courseId) {
-        this.courseService.updateCourse(this.courseId, this.course).subscribe(() => {
+        this.courseService.updateCourse(this.courseId, this.course, this.courseVersion).subscribe(() => {
           this.router.navigate(['/courses']);
         });
       } else {
@@ -3,6 +3,7 @@ import { CommonModule } from '@angular/common';
 import { RouterLink } from '@angular/router';
 import { StudentService } from '../services/student.service';
 import { CourseService } from '../services/course.service';
+import { StatsService } from '../services/stats.service';
 import { VersionService } from '../services/version.service';
 import { Student } from '../models/student.model';
 import { Course } from '../models/course.model';
@@ -25,6 +26,7 @@ export class DashboardComponent implements OnInit {
   constructor(
     private studentService: StudentService,
     private courseService: CourseService,
+    private statsService: StatsService,
     public versionService: VersionService
   ) {}
   
@@ -33,28 +35,21 @@ export class DashboardComponent implements OnInit {
   }
   
   private loadDashboardData(): void {
-    // Load students
-    this.studentService.getStudents().subscribe(students => {
-      this.studentsCount = students.length;
-      this.recentStudents = students.slice(0, 5);
-      this.calculateTotalEnrollments(students);
+    // Counts come precomputed from the server instead of from the full lists
+    this.statsService.getStats().subscribe(stats => {
+      this.studentsCount = stats.totalStudents;
+      this.coursesCount = stats.totalCourses;
+      this.activeCoursesCount = stats.activeCourses;
+      this.totalEnrollments = stats.totalEnrollments;
     });
     
-    // Load courses
-    this.courseService.getCourses().subscribe(courses => {
-      this.coursesCount = courses.length;
-      this.recentCourses = courses.slice(0, 5);
+    // Only the first few rows are shown, and only the columns the cards render
+    this.studentService.getStudentsPage(5, undefined, ['id', 'firstName', 'lastName', 'email']).subscribe(page => {
+      this.recentStudents = page.items;
     });
     
-    // Load active courses
-    this.courseService.getActiveCourses().subscribe(activeCourses => {
-      this.activeCoursesCount = activeCourses.length;
+    this.courseService.getCoursesPage(5, undefined, ['id', 'courseCode', 'courseName', 'credits', 'price']).subscribe(page => {
+      this.recentCourses = page.items;
     });
   }
-  
-  private calculateTotalEnrollments(students: Student[]): void {
-    this.totalEnrollments = students.reduce((total, student) => {
-      return total + (student.courseIds?.length || 0);
-    }, 0);
-  }
 }
@@ -8,8 +8,11 @@ export interface Course {
   startDate?: string;
   endDate?: string;
   isActive: boolean;
+  capacity?: number | null;
+  enrolledCount?: number;
   createdAt?: string;
   updatedAt?: string;
+  version?: number;
   studentIds?: number[];
 }
 
@@ -22,5 +25,6 @@ export interface CourseFormData {
   startDate?: string;
   endDate?: string;
   isActive: boolean;
+  capacity?: number | null;
   studentIds?: number[];
 }
@@ -0,0 +1,6 @@
+export interface Page<T> {
+  items: T[];
+  nextCursor?: string;
+  hasMore: boolean;
+  size: number;
+}
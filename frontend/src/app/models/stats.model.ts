@@ -0,0 +1,10 @@
+export interface Stats {
+  totalStudents: number;
+  studentsWithCourses: number;
+  totalCourses: number;
+  activeCourses: number;
+  totalEnrollments: number;
+  totalRevenue: number;
+  averageCoursesPerStudent: number;
+  studentsPerCourse: { [courseId: string]: number };
+}
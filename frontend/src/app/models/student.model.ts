@@ -7,6 +7,7 @@ export interface Student {
   phoneNumber?: string;
   createdAt?: string;
   updatedAt?: string;
+  version?: number;
   courseIds?: number[];
 }
 
@@ -1,8 +1,10 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable, BehaviorSubject } from 'rxjs';
 import { tap, catchError } from 'rxjs/operators';
 import { Course, CourseFormData } from '../models/course.model';
+import { Suggestion } from '../models/suggestion.model';
+import { Page } from '../models/page.model';
 
 @Injectable({
   providedIn: 'root'
@@ -48,8 +50,10 @@ export class CourseService {
   }
 
   // Update course
-  updateCourse(id: number, course: CourseFormData): Observable<Course> {
-    return this.http.put<Course>(`${this.apiUrl}/${id}`, course).pipe(
+  // Passing the version loaded with the course makes the update fail (412) if someone else changed it since
+  updateCourse(id: number, course: CourseFormData, version?: number): Observable<Course> {
+    const headers = version !== undefined ? new HttpHeaders({ 'If-Match': `"${version}"` }) : undefined;
+    return this.http.put<Course>(`${this.apiUrl}/${id}`, course, { headers }).pipe(
       tap(updatedCourse => {
         const currentCourses = this.coursesSubject.value;
         const index = currentCourses.findIndex(c => c.id === id);
@@ -74,6 +78,29 @@ export class CourseService {
     );
   }
 
+  // One keyset page; pass the previous page's nextCursor to continue.
+  // With fields only those properties are sent (the ID sets are skipped unless listed)
+  getCoursesPage(size: number, cursor?: string, fields?: string[]): Observable<Page<Course>> {
+    let url = `${this.apiUrl}/page?size=${size}`;
+    if (cursor) {
+      url += `&cursor=${encodeURIComponent(cursor)}`;
+    }
+    if (fields?.length) {
+      url += `&fields=${encodeURIComponent(fields.join(','))}`;
+    }
+    return this.http.get<Page<Course>>(url).pipe(
+      catchError(this.handleError)
+    );
+  }
+
+  // Type-ahead suggestions (id and label only)
+  suggestCourses(query: string, limit = 10): Observable<Suggestion[]> {
+    const url = `${this.apiUrl}/suggest?q=${encodeURIComponent(query)}&limit=${limit}`;
+    return this.http.get<Suggestion[]>(url).pipe(
+      catchError(this.handleError)
+    );
+  }
+
   // Search courses
   searchCourses(query: string): Observable<Course[]> {
     const url = query ? `${this.apiUrl}/search?q=${encodeURIComponent(query)}` : this.apiUrl;
@@ -20,6 +20,13 @@ export class EnrollmentResponse {
   ) {}
 }
 
+export interface WaitlistEntry {
+  position: number;
+  studentId: number;
+  studentName: string;
+  requestedAt: string;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -66,6 +73,10 @@ export class EnrollmentService {
     return this.http.get<EnrollmentResponse[]>(`${this.apiUrl}/course/${courseId}`);
   }
 
+  getWaitlist(courseId: number): Observable<WaitlistEntry[]> {
+    return this.http.get<WaitlistEntry[]>(`${this.apiUrl}/waitlist/${courseId}`);
+  }
+
   getAllEnrollments(): Observable<EnrollmentResponse[]> {
     // Get all students and their course enrollments
     return this.http.get<any[]>(`${environment.apiUrl}/api/students`)
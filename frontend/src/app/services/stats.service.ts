@@ -0,0 +1,26 @@
+import { Injectable } from '@angular/core';
+import { HttpClient } from '@angular/common/http';
+import { Observable } from 'rxjs';
+import { catchError } from 'rxjs/operators';
+import { Stats } from '../models/stats.model';
+
+@Injectable({
+  providedIn: 'root'
+})
+export class StatsService {
+  private apiUrl = 'http://localhost:8080/api/stats';
+
+  constructor(private http: HttpClient) {}
+
+  // Precomputed dashboard aggregates
+  getStats(): Observable<Stats> {
+    return this.http.get<Stats>(this.apiUrl).pipe(
+      catchError(this.handleError)
+    );
+  }
+
+  private handleError(error: any): Observable<never> {
+    console.error('An error occurred:', error);
+    throw error;
+  }
+}
@@ -1,8 +1,10 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable, BehaviorSubject } from 'rxjs';
 import { tap, catchError } from 'rxjs/operators';
 import { Student, StudentFormData } from '../models/student.model';
+import { Suggestion } from '../models/suggestion.model';
+import { Page } from '../models/page.model';
 
 @Injectable({
   providedIn: 'root'
@@ -41,8 +43,10 @@ export class StudentService {
   }
 
   // Update student
-  updateStudent(id: number, student: StudentFormData): Observable<Student> {
-    return this.http.put<Student>(`${this.apiUrl}/${id}`, student).pipe(
+  // Passing the version loaded with the student makes the update fail (412) if someone else changed it since
+  updateStudent(id: number, student: StudentFormData, version?: number): Observable<Student> {
+    const headers = version !== undefined ? new HttpHeaders({ 'If-Match': `"${version}"` }) : undefined;
+    return this.http.put<Student>(`${this.apiUrl}/${id}`, student, { headers }).pipe(
       tap(updatedStudent => {
         const currentStudents = this.studentsSubject.value;
         const index = currentStudents.findIndex(s => s.id === id);
@@ -67,6 +71,29 @@ export class StudentService {
     );
   }
 
+  // One keyset page; pass the previous page's nextCursor to continue.
+  // With fields only those properties are sent (the ID sets are skipped unless listed)
+  getStudentsPage(size: number, cursor?: string, fields?: string[]): Observable<Page<Student>> {
+    let url = `${this.apiUrl}/page?size=${size}`;
+    if (cursor) {
+      url += `&cursor=${encodeURIComponent(cursor)}`;
+    }
+    if (fields?.length) {
+      url += `&fields=${encodeURIComponent(fields.join(','))}`;
+    }
+    return this.http.get<Page<Student>>(url).pipe(
+      catchError(this.handleError)
+    );
+  }
+
+  // Type-ahead suggestions (id and label only)
+  suggestStudents(query: string, limit = 10): Observable<Suggestion[]> {
+    const url = `${this.apiUrl}/suggest?q=${encodeURIComponent(query)}&limit=${limit}`;
+    return this.http.get<Suggestion[]>(url).pipe(
+      catchError(this.handleError)
+    );
+  }
+
   // Search students
   searchStudents(query: string): Observable<Student[]> {
     const url = query ? `${this.apiUrl}/search?q=${encodeURIComponent(query)}` : this.apiUrl;
@@ -23,6 +23,7 @@ export class StudentFormComponent implements OnInit {
   
   isEditMode = false;
   studentId: number | null = null;
+  studentVersion?: number;
   
   constructor(
     private studentService: StudentService,
@@ -42,6 +43,7 @@ export class StudentFormComponent implements OnInit {
   
   loadStudent(id: number): void {
     this.studentService.getStudent(id).subscribe(student => {
+      this.studentVersion = student.version;
       this.student = {
         firstName: student.firstName,
         lastName: student.lastName,
@@ -55,7 +57,7 @@ export class StudentFormComponent implements OnInit {
   onSubmit(): void {
     if (this.isFormValid()) {
       if (this.isEditMode && this.studentId) {
-        this.studentService.updateStudent(this.studentId, this.student).subscribe(() => {
+        this.studentService.updateStudent(this.studentId, this.student, this.studentVersion).subscribe(() => {
           this.router.navigate(['/students']);
         });
       } else {